@@ -170,11 +170,12 @@ import net.dries007.tfc.common.entities.HoldingMinecart;
 import net.dries007.tfc.common.entities.predator.Predator;
 import net.dries007.tfc.common.items.DynamicBowlFood;
 import net.dries007.tfc.common.items.TFCItems;
+import net.dries007.tfc.common.recipes.AlloyRecipe;
 import net.dries007.tfc.common.recipes.CollapseRecipe;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.mixin.accessor.ChunkAccessAccessor;
 import net.dries007.tfc.mixin.accessor.RecipeManagerAccessor;
-import net.dries007.tfc.network.ChunkUnwatchPacket;
+import net.dries007.tfc.network.ChunkDataBatchPacket;
 import net.dries007.tfc.network.EffectExpirePacket;
 import net.dries007.tfc.network.PacketHandler;
 import net.dries007.tfc.network.PlayerDrinkPacket;
@@ -244,7 +245,9 @@ public final class ForgeEventHandler
         bus.addListener(ForgeEventHandler::onNeighborUpdate);
         bus.addListener(ForgeEventHandler::onExplosionDetonate);
         bus.addListener(ForgeEventHandler::onWorldTick);
+        bus.addListener(ForgeEventHandler::onServerTick);
         bus.addListener(ForgeEventHandler::onWorldLoad);
+        bus.addListener(ForgeEventHandler::onWorldUnload);
         bus.addListener(ForgeEventHandler::onCreateNetherPortal);
         bus.addListener(ForgeEventHandler::onFluidPlaceBlock);
         bus.addListener(ForgeEventHandler::onFluidCreateSource);
@@ -435,12 +438,12 @@ public final class ForgeEventHandler
         ChunkData chunkData = ChunkData.get(event.getWorld(), pos);
         if (chunkData.getStatus() != ChunkData.Status.EMPTY)
         {
-            PacketHandler.send(PacketDistributor.PLAYER.with(event::getPlayer), chunkData.getUpdatePacket());
+            ChunkDataBatchPacket.queueUpdate(event.getPlayer(), chunkData.getUpdatePacket());
         }
         else
         {
             // Chunk does not exist yet but it's queue'd for watch. Queue an update packet to be sent on chunk load
-            ChunkDataCache.WATCH_QUEUE.enqueueUnloadedChunk(pos, event.getPlayer());
+            ChunkDataCache.WATCH_QUEUE.enqueueUnloadedChunk(event.getWorld().dimension(), pos, event.getPlayer());
         }
     }
 
@@ -448,18 +451,22 @@ public final class ForgeEventHandler
     {
         // Send an update packet to the client when un-watching the chunk
         ChunkPos pos = event.getPos();
-        PacketHandler.send(PacketDistributor.PLAYER.with(event::getPlayer), new ChunkUnwatchPacket(pos));
-        ChunkDataCache.WATCH_QUEUE.dequeueChunk(pos, event.getPlayer());
+        ChunkDataBatchPacket.queueUnwatch(event.getPlayer(), pos);
+        ChunkDataCache.WATCH_QUEUE.dequeueChunk(event.getWorld().dimension(), pos, event.getPlayer());
     }
 
     public static void onChunkLoad(ChunkEvent.Load event)
     {
-        if (!Helpers.isClientSide(event.getWorld()) && !(event.getChunk() instanceof EmptyLevelChunk))
+        if (!Helpers.isClientSide(event.getWorld()) && !(event.getChunk() instanceof EmptyLevelChunk) && event.getWorld() instanceof Level level)
         {
             ChunkPos pos = event.getChunk().getPos();
+            final ChunkDataCache cache = ChunkDataCache.get(level);
             ChunkData.getCapability(event.getChunk()).ifPresent(data -> {
-                ChunkDataCache.SERVER.update(pos, data);
-                ChunkDataCache.WATCH_QUEUE.dequeueLoadedChunk(pos, data);
+                if (cache != null)
+                {
+                    cache.update(pos, data);
+                }
+                ChunkDataCache.WATCH_QUEUE.dequeueLoadedChunk(level.dimension(), pos, data);
             });
         }
     }
@@ -469,7 +476,11 @@ public final class ForgeEventHandler
         // Clear server side chunk data cache
         if (!Helpers.isClientSide(event.getWorld()) && !(event.getChunk() instanceof EmptyLevelChunk))
         {
-            ChunkDataCache.SERVER.remove(event.getChunk().getPos());
+            final ChunkDataCache cache = ChunkDataCache.get(event.getWorld());
+            if (cache != null)
+            {
+                cache.remove(event.getChunk().getPos());
+            }
         }
     }
 
@@ -598,6 +609,15 @@ public final class ForgeEventHandler
         }
     }
 
+    public static void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.END)
+        {
+            // Send all chunk data updates and unwatches queued during this tick
+            ChunkDataBatchPacket.flush();
+        }
+    }
+
     public static void onWorldLoad(WorldEvent.Load event)
     {
         if (event.getWorld() instanceof final ServerLevel level)
@@ -625,6 +645,12 @@ public final class ForgeEventHandler
         }
     }
 
+    public static void onWorldUnload(WorldEvent.Unload event)
+    {
+        // Discard the chunk data cache for this level, as otherwise it would persist after the level is gone
+        ChunkDataCache.onLevelUnload(event.getWorld());
+    }
+
     public static void onCreateNetherPortal(BlockEvent.PortalSpawnEvent event)
     {
         if (!TFCConfig.SERVER.enableNetherPortals.get())
@@ -1422,6 +1448,7 @@ public final class ForgeEventHandler
         // First, reload all caches
         final RecipeManager manager = Helpers.getUnsafeRecipeManager();
         IndirectHashCollection.reloadAllCaches(manager);
+        AlloyRecipe.updateIndex(manager);
 
         // Then apply post reload actions which may query the cache
         Support.updateMaximumSupportRange();
@@ -313,6 +313,7 @@ public class ClientForgeEventHandler
 
             colorCaches.putIfAbsent(TFCColors.FRESH_WATER, new BlockTintCache(TFCColors::getWaterColor));
             colorCaches.putIfAbsent(TFCColors.SALT_WATER, new BlockTintCache(TFCColors::getWaterColor));
+            TFCColors.onLevelLoad();
 
         }
     }
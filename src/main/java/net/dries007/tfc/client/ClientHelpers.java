@@ -10,6 +10,7 @@ import java.util.Objects;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.searchtree.MutableSearchTree;
 import net.minecraft.client.searchtree.SearchRegistry;
 import net.minecraft.core.BlockPos;
@@ -20,11 +21,16 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.BlockHitResult;
 
 import net.minecraftforge.registries.ForgeRegistries;
 
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
 import net.dries007.tfc.client.screen.PetCommandScreen;
 import net.dries007.tfc.common.capabilities.food.FoodCapability;
 import net.dries007.tfc.common.entities.livestock.pet.TamableMammal;
@@ -112,4 +118,61 @@ public final class ClientHelpers
         namesTree.refresh();
         tagsTree.refresh();
     }
+
+    /**
+     * Called when a batch of chunk data has been applied. Chunk data usually arrives after the chunk itself, but before it is meshed, in which case nothing needs to be done.
+     * Otherwise, if a climate tint was sampled in a chunk before its data arrived, this clears cached tints, and re-meshes every section, of that chunk and its loaded neighbors, as tints blend across chunk borders.
+     */
+    public static void onChunkDataReceived(LongSet updated, long[] unwatched)
+    {
+        for (long pos : unwatched)
+        {
+            TFCColors.onChunkDataChanged(pos);
+        }
+
+        final Minecraft mc = Minecraft.getInstance();
+        final ClientLevel level = mc.level;
+        if (level == null)
+        {
+            return;
+        }
+
+        LongSet dirty = null;
+        for (LongIterator iterator = updated.iterator(); iterator.hasNext(); )
+        {
+            final long pos = iterator.nextLong();
+            if (TFCColors.onChunkDataChanged(pos))
+            {
+                if (dirty == null)
+                {
+                    dirty = new LongOpenHashSet();
+                }
+                final int chunkX = ChunkPos.getX(pos), chunkZ = ChunkPos.getZ(pos);
+                for (int dx = -1; dx <= 1; dx++)
+                {
+                    for (int dz = -1; dz <= 1; dz++)
+                    {
+                        dirty.add(ChunkPos.asLong(chunkX + dx, chunkZ + dz));
+                    }
+                }
+            }
+        }
+
+        if (dirty != null)
+        {
+            for (LongIterator iterator = dirty.iterator(); iterator.hasNext(); )
+            {
+                final long pos = iterator.nextLong();
+                final int chunkX = ChunkPos.getX(pos), chunkZ = ChunkPos.getZ(pos);
+                if (level.hasChunk(chunkX, chunkZ))
+                {
+                    level.onChunkLoaded(new ChunkPos(chunkX, chunkZ)); // Invalidates the tint caches for this chunk
+                    for (int sectionY = level.getMinSection(); sectionY < level.getMaxSection(); sectionY++)
+                    {
+                        mc.levelRenderer.setSectionDirty(chunkX, sectionY, chunkZ);
+                    }
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -9,13 +9,18 @@ package net.dries007.tfc.client;
 import java.util.function.ToIntFunction;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.ColorResolver;
 import net.minecraft.world.level.CommonLevelAccessor;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.Biome;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.Month;
@@ -23,6 +28,7 @@ import net.dries007.tfc.util.calendar.Season;
 import net.dries007.tfc.util.climate.Climate;
 import net.dries007.tfc.world.TFCChunkGenerator;
 import net.dries007.tfc.world.biome.TFCBiomes;
+import net.dries007.tfc.world.chunkdata.ChunkDataCache;
 import org.jetbrains.annotations.Nullable;
 
 public final class TFCColors
@@ -53,6 +59,9 @@ public final class TFCColors
     private static int[] GRASS_COLORS_CACHE = new int[COLORMAP_SIZE];
     private static int[] TALL_GRASS_COLORS_CACHE = new int[COLORMAP_SIZE];
 
+    // Chunks which had a climate color sampled before their chunk data was received, so may have been meshed with the wrong tint. Added to from chunk meshing threads.
+    private static final LongSet TINTED_WITHOUT_CLIMATE = LongSets.synchronize(new LongOpenHashSet());
+
     static
     {
         // IDEA's code ordering wants to rearrange these fields unless they're initialized after WATER_COLORS_CACHE
@@ -210,6 +219,21 @@ public final class TFCColors
         return season;
     }
 
+    /**
+     * Called when chunk data is received for a chunk, or it is unwatched.
+     *
+     * @return {@code true} if a climate color was sampled in that chunk before its data was received, and so any tints in or near it need to be recomputed.
+     */
+    public static boolean onChunkDataChanged(long chunkPos)
+    {
+        return TINTED_WITHOUT_CLIMATE.remove(chunkPos);
+    }
+
+    public static void onLevelLoad()
+    {
+        TINTED_WITHOUT_CLIMATE.clear();
+    }
+
     /**
      * Queries a color map based on temperature and rainfall parameters, by sampling the client temperature and rainfall at a given position. Temperature is horizontal, left is high. Rainfall is vertical, up is high.
      */
@@ -218,6 +242,12 @@ public final class TFCColors
         final Level level = ClientHelpers.getLevel();
         if (level != null)
         {
+            final int chunkX = SectionPos.blockToSectionCoord(pos.getX()), chunkZ = SectionPos.blockToSectionCoord(pos.getZ());
+            if (ChunkDataCache.CLIENT.get(chunkX, chunkZ) == null)
+            {
+                // Record this before sampling, so if the data arrives in between, this chunk is still re-rendered
+                TINTED_WITHOUT_CLIMATE.add(ChunkPos.asLong(chunkX, chunkZ));
+            }
             final float temperature = Climate.getTemperature(level, pos);
             final float rainfall = Climate.getRainfall(level, pos);
             return getClimateColor(colorCache, temperature, rainfall);
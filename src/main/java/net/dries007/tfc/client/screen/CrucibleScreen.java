@@ -20,7 +20,6 @@ import net.minecraft.world.entity.player.Inventory;
 import net.minecraftforge.network.PacketDistributor;
 import org.lwjgl.glfw.GLFW;
 
-import net.dries007.tfc.client.ClientHelpers;
 import net.dries007.tfc.client.RenderHelpers;
 import net.dries007.tfc.common.blockentities.CrucibleBlockEntity;
 import net.dries007.tfc.common.capabilities.MoldLike;
@@ -139,7 +138,7 @@ public class CrucibleScreen extends BlockEntityScreen<CrucibleBlockEntity, Cruci
             resetToBackgroundSprite();
 
             // Draw Title:
-            final Metal result = alloy.getResult(ClientHelpers.getLevelOrThrow());
+            final Metal result = alloy.getResult();
             final String resultText = ChatFormatting.UNDERLINE + I18n.get(result.getTranslationKey());
             font.draw(poseStack, resultText, leftPos + 10, topPos + 11, 0x000000);
 
@@ -357,7 +357,7 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
         public boolean isMolten()
         {
             assert crucible.level != null;
-            return crucible.temperature > alloy.getResult(crucible.level).getMeltTemperature();
+            return crucible.temperature > alloy.getResult().getMeltTemperature();
         }
 
         @Override
@@ -419,7 +419,7 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
             if (isMolten())
             {
                 assert crucible.level != null;
-                final Metal result = alloy.getResult(crucible.level);
+                final Metal result = alloy.getResult();
                 final int amount = alloy.removeAlloy(maxDrain, action.simulate());
                 if (action.execute())
                 {
@@ -16,6 +16,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
 
 import net.dries007.tfc.client.TFCSounds;
 import net.dries007.tfc.common.blockentities.CropBlockEntity;
@@ -29,6 +30,7 @@ import net.dries007.tfc.util.advancements.TFCAdvancements;
 import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendar;
 import net.dries007.tfc.util.climate.Climate;
+import net.dries007.tfc.util.climate.ClimateModel;
 import net.dries007.tfc.util.climate.ClimateRange;
 
 /**
@@ -53,110 +55,49 @@ public final class CropHelpers
     }
 
     /**
+     * Catches up a crop from its last growth tick to the current tick, in steps of at most {@link #UPDATE_INTERVAL}.
+     * Everything which cannot change while catching up (hydration, the farmland, the growth limit, config values) is queried once, and each temperature is sampled once, shared between the end of one step and the start of the next. The crop is only written to (and synced) once, at the end.
+     * The result is identical to calling {@link #growthTickStep(Level, BlockPos, BlockState, Random, long, long, CropBlockEntity)} for each step.
+     *
      * @return {@code true} if the crop survived.
      */
     public static boolean growthTick(Level level, BlockPos pos, BlockState state, CropBlockEntity crop)
     {
         final long firstTick = crop.getLastGrowthTick(), thisTick = Calendars.SERVER.getTicks();
-        long tick = firstTick + CropHelpers.UPDATE_INTERVAL, lastTick = firstTick;
-        for (; tick < thisTick; tick += CropHelpers.UPDATE_INTERVAL)
+        if (firstTick >= thisTick)
         {
-            if (!CropHelpers.growthTickStep(level, pos, state, level.getRandom(), lastTick, tick, crop))
+            return true;
+        }
+
+        final GrowthContext context = new GrowthContext(level, pos, state, crop);
+        final Random random = level.getRandom();
+
+        long fromTick = firstTick;
+        float fromTemperature = context.temperatureAt(fromTick);
+        while (fromTick < thisTick)
+        {
+            final long toTick = Math.min(fromTick + UPDATE_INTERVAL, thisTick);
+            final float toTemperature = context.temperatureAt(toTick);
+            if (!context.step(random, fromTick, toTick, fromTemperature, toTemperature))
             {
                 return false;
             }
-            lastTick = tick;
+            fromTick = toTick;
+            fromTemperature = toTemperature;
         }
-        return lastTick >= thisTick || CropHelpers.growthTickStep(level, pos, state, level.getRandom(), lastTick, thisTick, crop);
+        context.apply(crop);
+        return true;
     }
 
     public static boolean growthTickStep(Level level, BlockPos pos, BlockState state, Random random, long fromTick, long toTick, CropBlockEntity crop)
     {
-        // Calculate invariants
-        final ICalendar calendar = Calendars.get(level);
-        final BlockPos sourcePos = pos.below();
-        final int hydration = FarmlandBlock.getHydration(level, sourcePos);
-        final float startTemperature = Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(fromTick));
-        final float endTemperature = Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(toTick));
-        final long tickDelta = toTick - fromTick;
-
-        final ICropBlock cropBlock = (ICropBlock) state.getBlock();
-        final ClimateRange range = cropBlock.getClimateRange();
-        final boolean growing = checkClimate(range, hydration, startTemperature, endTemperature, false);
-        final boolean healthy = growing || checkClimate(range, hydration, startTemperature, endTemperature, true);
-
-        // Nutrients are consumed first, since they are independent of growth or health.
-        // As long as the crop exists it consumes nutrients.
-
-        final FarmlandBlockEntity.NutrientType primaryNutrient = cropBlock.getPrimaryNutrient();
-        float nutrientsAvailable = 0, nutrientsRequired = NUTRIENT_CONSUMPTION * tickDelta, nutrientsConsumed = 0;
-        if (level.getBlockEntity(sourcePos) instanceof IFarmland farmland)
-        {
-            nutrientsAvailable = farmland.getNutrient(primaryNutrient);
-            nutrientsConsumed = farmland.consumeNutrientAndResupplyOthers(primaryNutrient, nutrientsRequired);
-        }
-
-        final float growthModifier = TFCConfig.SERVER.cropGrowthModifier.get().floatValue(); // Higher = Slower growth
-        final float expiryModifier = TFCConfig.SERVER.cropExpiryModifier.get().floatValue(); // Higher = Slower expiry
-        final float localExpiryLimit = EXPIRY_LIMIT * expiryModifier * (1f / growthModifier);
-
-        // Total growth is based on the ticks and the nutrients consumed. It is then allocated to actual growth or expiry based on other factors.
-        final float totalGrowthDelta = (1f / growthModifier) * Helpers.uniform(random, 0.9f, 1.1f) * tickDelta * CropHelpers.GROWTH_FACTOR + nutrientsConsumed * NUTRIENT_GROWTH_FACTOR;
-        final float initialGrowth = crop.getGrowth();
-        float remainingGrowthDelta = totalGrowthDelta;
-        float growth = initialGrowth, expiry = crop.getExpiry(), actualYield = crop.getYield();
-
-        // Re-scale expiry to within our imaginary limits
-        expiry *= localExpiryLimit / EXPIRY_LIMIT;
-
-        final float growthLimit = cropBlock.getGrowthLimit(level, pos, state);
-        if (remainingGrowthDelta > 0 && growing && growth < growthLimit)
-        {
-            // Allocate to growth
-            final float delta = Math.min(remainingGrowthDelta, growthLimit - growth);
-
-            growth += delta;
-            remainingGrowthDelta -= delta;
-        }
-        if (remainingGrowthDelta > 0)
+        final GrowthContext context = new GrowthContext(level, pos, state, crop);
+        if (context.step(random, fromTick, toTick, context.temperatureAt(fromTick), context.temperatureAt(toTick)))
         {
-            // Allocate remaining growth to expiry
-            final float delta = Math.min(remainingGrowthDelta, localExpiryLimit - expiry);
-
-            expiry += delta;
-        }
-
-        // Calculate yield, which depends both on a flat rate per growth, and on the nutrient satisfaction, which is a measure of nutrient consumption over the growth time.
-        final float growthDelta = growth - initialGrowth;
-        final float nutrientSatisfaction;
-        if (growthDelta <= 0 || nutrientsRequired <= 0)
-        {
-            nutrientSatisfaction = 1; // Either condition causes the below formula to result in NaN
-        }
-        else
-        {
-            nutrientSatisfaction = Math.min(1, (totalGrowthDelta / growthDelta) * (nutrientsAvailable / nutrientsRequired));
-        }
-
-        actualYield += growthDelta * Helpers.lerp(nutrientSatisfaction, YIELD_MIN, YIELD_LIMIT);
-
-        // Check if the crop should've expired.
-        if (expiry >= localExpiryLimit || !healthy)
-        {
-            // Lenient here - instead of assuming it expired at the start of the duration, we assume at the end. Including growth during this period.
-            cropBlock.die(level, pos, state, growth >= 1);
-            return false;
+            context.apply(crop);
+            return true;
         }
-
-        // Re-scale expiry to constant values to maintain invariance if the config value is updated
-        expiry *= EXPIRY_LIMIT / localExpiryLimit;
-
-        crop.setGrowth(growth);
-        crop.setYield(actualYield);
-        crop.setExpiry(expiry);
-        crop.setLastGrowthTick(calendar.getTicks());
-
-        return true;
+        return false;
     }
 
     private static boolean checkClimate(ClimateRange range, int hydration, float firstTemperature, float secondTemperature, boolean allowWiggle)
@@ -226,4 +167,135 @@ public final class CropHelpers
         }
         return prevValue;
     }
+
+    /**
+     * The invariants of a crop over a single catch up, and the accumulated growth, expiry and yield.
+     */
+    private static final class GrowthContext
+    {
+        private final Level level;
+        private final BlockPos pos;
+        private final BlockState state;
+        private final ICalendar calendar;
+        private final ClimateModel model;
+        private final int daysInMonth;
+
+        private final ICropBlock cropBlock;
+        private final ClimateRange range;
+        private final int hydration;
+        private final FarmlandBlockEntity.NutrientType primaryNutrient;
+        @Nullable private final IFarmland farmland;
+        private final float growthModifier, localExpiryLimit, growthLimit;
+
+        private float growth, expiry, actualYield;
+
+        GrowthContext(Level level, BlockPos pos, BlockState state, CropBlockEntity crop)
+        {
+            final BlockPos sourcePos = pos.below();
+
+            this.level = level;
+            this.pos = pos;
+            this.state = state;
+            this.calendar = Calendars.get(level);
+            this.model = Climate.model(level);
+            this.daysInMonth = calendar.getCalendarDaysInMonth();
+
+            this.cropBlock = (ICropBlock) state.getBlock();
+            this.range = cropBlock.getClimateRange();
+            this.hydration = FarmlandBlock.getHydration(level, sourcePos);
+            this.primaryNutrient = cropBlock.getPrimaryNutrient();
+            this.farmland = level.getBlockEntity(sourcePos) instanceof IFarmland f ? f : null;
+
+            this.growthModifier = TFCConfig.SERVER.cropGrowthModifier.get().floatValue(); // Higher = Slower growth
+            final float expiryModifier = TFCConfig.SERVER.cropExpiryModifier.get().floatValue(); // Higher = Slower expiry
+            this.localExpiryLimit = EXPIRY_LIMIT * expiryModifier * (1f / growthModifier);
+            this.growthLimit = cropBlock.getGrowthLimit(level, pos, state);
+
+            this.growth = crop.getGrowth();
+            this.expiry = crop.getExpiry();
+            this.actualYield = crop.getYield();
+        }
+
+        float temperatureAt(long tick)
+        {
+            return model.getTemperature(level, pos, Calendars.SERVER.ticksToCalendarTicks(tick), daysInMonth);
+        }
+
+        /**
+         * @return {@code true} if the crop survived this step. If not, the crop has already been killed.
+         */
+        boolean step(Random random, long fromTick, long toTick, float startTemperature, float endTemperature)
+        {
+            final long tickDelta = toTick - fromTick;
+            final boolean growing = checkClimate(range, hydration, startTemperature, endTemperature, false);
+            final boolean healthy = growing || checkClimate(range, hydration, startTemperature, endTemperature, true);
+
+            // Nutrients are consumed first, since they are independent of growth or health.
+            // As long as the crop exists it consumes nutrients.
+            float nutrientsAvailable = 0, nutrientsRequired = NUTRIENT_CONSUMPTION * tickDelta, nutrientsConsumed = 0;
+            if (farmland != null)
+            {
+                nutrientsAvailable = farmland.getNutrient(primaryNutrient);
+                nutrientsConsumed = farmland.consumeNutrientAndResupplyOthers(primaryNutrient, nutrientsRequired);
+            }
+
+            // Total growth is based on the ticks and the nutrients consumed. It is then allocated to actual growth or expiry based on other factors.
+            final float totalGrowthDelta = (1f / growthModifier) * Helpers.uniform(random, 0.9f, 1.1f) * tickDelta * CropHelpers.GROWTH_FACTOR + nutrientsConsumed * NUTRIENT_GROWTH_FACTOR;
+            final float initialGrowth = growth;
+            float remainingGrowthDelta = totalGrowthDelta;
+
+            // Re-scale expiry to within our imaginary limits
+            expiry *= localExpiryLimit / EXPIRY_LIMIT;
+
+            if (remainingGrowthDelta > 0 && growing && growth < growthLimit)
+            {
+                // Allocate to growth
+                final float delta = Math.min(remainingGrowthDelta, growthLimit - growth);
+
+                growth += delta;
+                remainingGrowthDelta -= delta;
+            }
+            if (remainingGrowthDelta > 0)
+            {
+                // Allocate remaining growth to expiry
+                final float delta = Math.min(remainingGrowthDelta, localExpiryLimit - expiry);
+
+                expiry += delta;
+            }
+
+            // Calculate yield, which depends both on a flat rate per growth, and on the nutrient satisfaction, which is a measure of nutrient consumption over the growth time.
+            final float growthDelta = growth - initialGrowth;
+            final float nutrientSatisfaction;
+            if (growthDelta <= 0 || nutrientsRequired <= 0)
+            {
+                nutrientSatisfaction = 1; // Either condition causes the below formula to result in NaN
+            }
+            else
+            {
+                nutrientSatisfaction = Math.min(1, (totalGrowthDelta / growthDelta) * (nutrientsAvailable / nutrientsRequired));
+            }
+
+            actualYield += growthDelta * Helpers.lerp(nutrientSatisfaction, YIELD_MIN, YIELD_LIMIT);
+
+            // Check if the crop should've expired.
+            if (expiry >= localExpiryLimit || !healthy)
+            {
+                // Lenient here - instead of assuming it expired at the start of the duration, we assume at the end. Including growth during this period.
+                cropBlock.die(level, pos, state, growth >= 1);
+                return false;
+            }
+
+            // Re-scale expiry to constant values to maintain invariance if the config value is updated
+            expiry *= EXPIRY_LIMIT / localExpiryLimit;
+            return true;
+        }
+
+        void apply(CropBlockEntity crop)
+        {
+            crop.setGrowth(growth);
+            crop.setYield(actualYield);
+            crop.setExpiry(expiry);
+            crop.setLastGrowthTick(calendar.getTicks());
+        }
+    }
 }
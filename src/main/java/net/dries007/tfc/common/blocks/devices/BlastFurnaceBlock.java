@@ -7,7 +7,6 @@
 package net.dries007.tfc.common.blocks.devices;
 
 import java.util.Random;
-import java.util.function.BiPredicate;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ParticleTypes;
@@ -18,7 +17,6 @@ import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
@@ -46,20 +44,23 @@ public class BlastFurnaceBlock extends DeviceBlock implements IBellowsConsumer
 
     static
     {
-        BLAST_FURNACE_CHIMNEY = new MultiBlock()
+        final MultiBlock chimney = new MultiBlock()
             .match(new BlockPos(0, 0, 0), state -> state.isAir() || Helpers.isBlock(state, TFCBlocks.MOLTEN.get()))
             .match(new BlockPos(0, 0, 1), TFCTags.Blocks.BLAST_FURNACE_INSULATION)
             .match(new BlockPos(0, 0, -1), TFCTags.Blocks.BLAST_FURNACE_INSULATION)
             .match(new BlockPos(1, 0, 0), TFCTags.Blocks.BLAST_FURNACE_INSULATION)
-            .match(new BlockPos(-1, 0, 0), TFCTags.Blocks.BLAST_FURNACE_INSULATION)
-            .match(new BlockPos(0, 0, -2), matchSheet(Direction.SOUTH))
-            .match(new BlockPos(0, 0, 2), matchSheet(Direction.NORTH))
-            .match(new BlockPos(2, 0, 0), matchSheet(Direction.WEST))
-            .match(new BlockPos(-2, 0, 0), matchSheet(Direction.EAST))
-            .match(new BlockPos(-1, 0, -1), matchSheet(Direction.SOUTH, Direction.EAST))
-            .match(new BlockPos(1, 0, -1), matchSheet(Direction.SOUTH, Direction.WEST))
-            .match(new BlockPos(-1, 0, 1), matchSheet(Direction.NORTH, Direction.EAST))
-            .match(new BlockPos(1, 0, 1), matchSheet(Direction.NORTH, Direction.WEST));
+            .match(new BlockPos(-1, 0, 0), TFCTags.Blocks.BLAST_FURNACE_INSULATION);
+
+        matchSheet(chimney, new BlockPos(0, 0, -2), Direction.SOUTH);
+        matchSheet(chimney, new BlockPos(0, 0, 2), Direction.NORTH);
+        matchSheet(chimney, new BlockPos(2, 0, 0), Direction.WEST);
+        matchSheet(chimney, new BlockPos(-2, 0, 0), Direction.EAST);
+        matchSheet(chimney, new BlockPos(-1, 0, -1), Direction.SOUTH, Direction.EAST);
+        matchSheet(chimney, new BlockPos(1, 0, -1), Direction.SOUTH, Direction.WEST);
+        matchSheet(chimney, new BlockPos(-1, 0, 1), Direction.NORTH, Direction.EAST);
+        matchSheet(chimney, new BlockPos(1, 0, 1), Direction.NORTH, Direction.WEST);
+
+        BLAST_FURNACE_CHIMNEY = chimney;
     }
 
     public static boolean isBlastFurnaceInsulationBlock(BlockState state)
@@ -85,33 +86,40 @@ public class BlastFurnaceBlock extends DeviceBlock implements IBellowsConsumer
         return maxHeight;
     }
 
-    private static BiPredicate<LevelAccessor, BlockPos> matchSheet(Direction face)
-    {
-        return (level, pos) -> {
-            final BlockState state = level.getBlockState(pos);
-            final SheetPileBlockEntity pile = level.getBlockEntity(pos, TFCBlockEntities.SHEET_PILE.get()).orElse(null);
-            return Helpers.isBlock(state, TFCBlocks.SHEET_PILE.get())
-                && pile != null
-                && isTier3SheetOrHigherInDirection(state, pile, face);
-        };
-    }
-
-    private static BiPredicate<LevelAccessor, BlockPos> matchSheet(Direction face, Direction secondFace)
+    /**
+     * Matches a sheet pile with tier III or higher sheets on each of {@code faces}. The sheets being present is a state check, which is done before the sheet metal is checked from the block entity.
+     */
+    private static void matchSheet(MultiBlock multiblock, BlockPos posOffset, Direction... faces)
     {
-        return (level, pos) -> {
-            final BlockState state = level.getBlockState(pos);
+        multiblock.match(posOffset, state -> {
+            if (!Helpers.isBlock(state, TFCBlocks.SHEET_PILE.get()))
+            {
+                return false;
+            }
+            for (Direction face : faces)
+            {
+                if (!state.getValue(DirectionPropertyBlock.getProperty(face)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        });
+        multiblock.match(posOffset, (level, pos) -> {
             final SheetPileBlockEntity pile = level.getBlockEntity(pos, TFCBlockEntities.SHEET_PILE.get()).orElse(null);
-            return Helpers.isBlock(state, TFCBlocks.SHEET_PILE.get())
-                && pile != null
-                && isTier3SheetOrHigherInDirection(state, pile, face)
-                && isTier3SheetOrHigherInDirection(state, pile, secondFace);
-        };
-    }
-
-    private static boolean isTier3SheetOrHigherInDirection(BlockState state, SheetPileBlockEntity pile, Direction face)
-    {
-        return state.getValue(DirectionPropertyBlock.getProperty(face))
-            && pile.getOrCacheMetal(face).getTier() >= Metal.Tier.TIER_III.ordinal();
+            if (pile == null)
+            {
+                return false;
+            }
+            for (Direction face : faces)
+            {
+                if (pile.getOrCacheMetal(face).getTier() < Metal.Tier.TIER_III.ordinal())
+                {
+                    return false;
+                }
+            }
+            return true;
+        });
     }
 
     public BlastFurnaceBlock(ExtendedProperties properties)
@@ -8,7 +8,6 @@ package net.dries007.tfc.common.blocks.devices;
 
 import java.util.EnumMap;
 import java.util.Random;
-import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -98,7 +97,7 @@ public class BloomeryBlock extends DeviceBlock implements EntityBlockExtension
 
     static
     {
-        BiPredicate<LevelAccessor, BlockPos> stoneMatcher = (level, pos) -> isBloomeryInsulationBlock(level.getBlockState(pos));
+        Predicate<BlockState> stoneMatcher = BloomeryBlock::isBloomeryInsulationBlock;
         Predicate<BlockState> insideChimney = state -> state.getBlock() == TFCBlocks.MOLTEN.get() || state.isAir();
         Predicate<BlockState> center = state -> state.is(TFCBlocks.MOLTEN.get()) || state.is(TFCBlocks.BLOOM.get()) || state.isAir();
         BlockPos origin = BlockPos.ZERO;
@@ -8,6 +8,7 @@ package net.dries007.tfc.common.blocks.devices;
 
 import java.util.Random;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ParticleTypes;
@@ -52,7 +53,7 @@ public class CharcoalForgeBlock extends DeviceBlock implements IBellowsConsumer
     static
     {
         BiPredicate<LevelAccessor, BlockPos> skyMatcher = LevelAccessor::canSeeSky;
-        BiPredicate<LevelAccessor, BlockPos> isValidSide = (level, pos) -> isForgeInsulationBlock(level.getBlockState(pos));
+        Predicate<BlockState> isValidSide = CharcoalForgeBlock::isForgeInsulationBlock;
         BlockPos origin = BlockPos.ZERO;
         FORGE_MULTIBLOCK = new MultiBlock()
             // Top block
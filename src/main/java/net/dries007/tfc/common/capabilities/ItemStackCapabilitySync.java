@@ -6,14 +6,21 @@
 
 package net.dries007.tfc.common.capabilities;
 
+import io.netty.handler.codec.DecoderException;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.item.ItemStack;
-import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.INBTSerializable;
+import org.jetbrains.annotations.Nullable;
 
 import net.dries007.tfc.common.capabilities.food.FoodCapability;
+import net.dries007.tfc.common.capabilities.food.FoodData;
+import net.dries007.tfc.common.capabilities.food.FoodHandler;
+import net.dries007.tfc.common.capabilities.food.INetworkFood;
 import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.capabilities.heat.HeatHandler;
+import net.dries007.tfc.common.capabilities.heat.INetworkHeat;
+import net.dries007.tfc.util.Helpers;
 
 /**
  * This is a manager for capabilities that need to be synced externally, constantly.
@@ -31,12 +38,24 @@ import net.dries007.tfc.common.capabilities.heat.HeatCapability;
  * - All other capabilities use the stack tag to avoid sync concerns.
  * <p>
  * Finally, in order to avoid issues caused by other mods due to incorrectly synced item stacks (see <a href="https://github.com/TerraFirmaCraft/TerraFirmaCraft/issues/2198">TerraFirmaCraft#2198</a>), we need to write and read this data in an as unconditional method as possible.
- * This means we cannot check for empty stacks, or those that do not have a capability. In the best case, we write an additional +1 bytes per item stack (a typical item stack has ~4-6 bytes default). This is about as least-cost that we can make it (in the worst case, we write 1 + two nbt tags).
+ * This means we cannot check for empty stacks, or those that do not have a capability. In the best case, we write an additional +1 bytes per item stack (a typical item stack has ~4-6 bytes default). This is about as least-cost that we can make it.
+ * <p>
+ * Our own {@link FoodHandler} and {@link HeatHandler} (by far the most common) are written in a compact binary format, which is typically a handful of bytes. Any other implementations, or dynamic foods, fall back to writing an NBT tag.
  * <p>
  * We also use a separate capability instance - the {@link HeatCapability#NETWORK_CAPABILITY} and {@link FoodCapability#NETWORK_CAPABILITY}. This is done as to be able to access underlying capability implementations without triggering any initialization which may rely on on-thread resources, such as accessing recipes or recipe caches.
  */
 public final class ItemStackCapabilitySync
 {
+    /**
+     * The header is a single byte: the format of the food capability (bits 0-1), the format of the heat capability (bits 2-3), and the version of this encoding (bits 4-7).
+     * A header of zero indicates neither capability is present, which is by far the most common case.
+     */
+    private static final int VERSION = 1;
+
+    private static final int ABSENT = 0; // The capability is not present
+    private static final int COMPACT = 1; // The capability is a known handler, and written in its compact format (see FoodHandler#toNetwork and HeatHandler#toNetwork)
+    private static final int NBT = 2; // The capability is unknown, or dynamic, and written as an NBT tag
+
     public static boolean hasSyncableCapability(ItemStack stack)
     {
         return stack.getCapability(FoodCapability.NETWORK_CAPABILITY).isPresent() || stack.getCapability(HeatCapability.NETWORK_CAPABILITY).isPresent();
@@ -49,41 +68,99 @@ public final class ItemStackCapabilitySync
         // While this is a weird construct, we should be able to synchronize on the item stack itself - this will prevent any stacks from having getCapability invoked and resolved by two threads at once. Different stacks should be fully safe to execute independently.
         synchronized (stack)
         {
-            if (hasSyncableCapability(stack))
+            final INetworkFood food = Helpers.getCapability(stack, FoodCapability.NETWORK_CAPABILITY);
+            final INetworkHeat heat = Helpers.getCapability(stack, HeatCapability.NETWORK_CAPABILITY);
+            if (food == null && heat == null)
             {
-                buffer.writeBoolean(true);
-                writeToNetwork(FoodCapability.NETWORK_CAPABILITY, stack, buffer);
-                writeToNetwork(HeatCapability.NETWORK_CAPABILITY, stack, buffer);
+                buffer.writeByte(0);
+                return;
             }
-            else
+
+            final FoodHandler compactFood = food instanceof FoodHandler handler && !handler.isDynamic() ? handler : null;
+            final HeatHandler compactHeat = unwrap(heat);
+            final int foodFormat = food == null ? ABSENT : compactFood != null ? COMPACT : NBT;
+            final int heatFormat = heat == null ? ABSENT : compactHeat != null ? COMPACT : NBT;
+
+            buffer.writeByte(foodFormat | (heatFormat << 2) | (VERSION << 4));
+            if (compactFood != null)
+            {
+                compactFood.toNetwork(buffer);
+            }
+            else if (food != null)
             {
-                buffer.writeBoolean(false);
+                buffer.writeNbt(food.serializeNBT());
+            }
+            if (compactHeat != null)
+            {
+                compactHeat.toNetwork(buffer);
+            }
+            else if (heat != null)
+            {
+                buffer.writeNbt(heat.serializeNBT());
             }
         }
     }
 
     public static void readFromNetwork(ItemStack stack, FriendlyByteBuf buffer)
     {
-        if (buffer.readBoolean())
+        final int header = buffer.readUnsignedByte();
+        if (header == 0)
         {
-            readFromNetwork(FoodCapability.NETWORK_CAPABILITY, stack, buffer);
-            readFromNetwork(HeatCapability.NETWORK_CAPABILITY, stack, buffer);
+            return;
+        }
+        if ((header >> 4) != VERSION)
+        {
+            throw new DecoderException("Unknown item stack capability sync version " + (header >> 4) + ", expected " + VERSION);
+        }
+
+        final int foodFormat = header & 3, heatFormat = (header >> 2) & 3;
+        if (foodFormat != ABSENT)
+        {
+            // If the capability does not exist on this side, or is a different handler, we still need to consume the data
+            final INetworkFood food = Helpers.getCapability(stack, FoodCapability.NETWORK_CAPABILITY);
+            if (foodFormat == COMPACT)
+            {
+                (food instanceof FoodHandler handler ? handler : new FoodHandler(FoodData.EMPTY)).fromNetwork(buffer);
+            }
+            else
+            {
+                readNbt(food, buffer);
+            }
+        }
+        if (heatFormat != ABSENT)
+        {
+            final INetworkHeat heat = Helpers.getCapability(stack, HeatCapability.NETWORK_CAPABILITY);
+            if (heatFormat == COMPACT)
+            {
+                final HeatHandler handler = unwrap(heat);
+                (handler != null ? handler : new HeatHandler(1, 0, 0)).fromNetwork(buffer);
+            }
+            else
+            {
+                readNbt(heat, buffer);
+            }
         }
     }
 
-    private static void writeToNetwork(Capability<? extends INBTSerializable<CompoundTag>> capability, ItemStack stack, FriendlyByteBuf buffer)
+    /**
+     * @return The underlying {@link HeatHandler} of a heat capability, if it has one, including through a {@link DelegateHeatHandler}.
+     */
+    @Nullable
+    private static HeatHandler unwrap(@Nullable INetworkHeat heat)
     {
-        buffer.writeNbt(stack.getCapability(capability)
-            .map(INBTSerializable::serializeNBT)
-            .orElse(null));
+        if (heat instanceof DelegateHeatHandler delegate)
+        {
+            heat = delegate.getHeatHandler();
+        }
+        return heat instanceof HeatHandler handler ? handler : null;
     }
 
-    private static void readFromNetwork(Capability<? extends INBTSerializable<CompoundTag>> capability, ItemStack stack, FriendlyByteBuf buffer)
+    private static void readNbt(@Nullable INBTSerializable<CompoundTag> capability, FriendlyByteBuf buffer)
     {
         final CompoundTag tag = buffer.readNbt();
-        if (tag != null)
+        if (tag != null && capability != null)
         {
-            stack.getCapability(capability).ifPresent(cap -> cap.deserializeNBT(tag));
+            capability.deserializeNBT(tag);
         }
     }
 }
@@ -19,6 +19,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
@@ -29,6 +30,7 @@ import net.minecraftforge.common.util.LazyOptional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import net.dries007.tfc.common.capabilities.ItemStackCapabilitySync;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.calendar.Calendars;
@@ -49,6 +51,8 @@ public class FoodHandler implements ICapabilitySerializable<CompoundTag>, IFood
     public static final long NEVER_DECAY_CREATION_DATE = -2;
     public static final long UNKNOWN_CREATION_DATE = -1;
 
+    private static final int NETWORK_DATE = 0, NETWORK_ROTTEN = 1, NETWORK_NEVER_DECAY = 2, NETWORK_UNKNOWN = 3;
+
     // Stacks created at certain times during loading, we infer to be non-decaying ones.
     private static final AtomicBoolean NON_DECAYING = new AtomicBoolean(true);
 
@@ -209,10 +213,56 @@ public class FoodHandler implements ICapabilitySerializable<CompoundTag>, IFood
         creationDate = nbt.contains("creationDate") ? nbt.getLong("creationDate") : UNKNOWN_CREATION_DATE;
     }
 
+    /**
+     * Writes the same state as {@link #serializeNBT()}, in the compact network format. Only valid for non-dynamic handlers.
+     *
+     * @see ItemStackCapabilitySync
+     */
+    public void toNetwork(FriendlyByteBuf buffer)
+    {
+        // The header holds the kind of creation date, and the number of traits. Only a regular creation date is written in full
+        final long creationDate = getCreationDate();
+        final int dateKind = creationDate == ROTTEN_DATE ? NETWORK_ROTTEN :
+            creationDate == NEVER_DECAY_CREATION_DATE ? NETWORK_NEVER_DECAY :
+            creationDate == UNKNOWN_CREATION_DATE ? NETWORK_UNKNOWN :
+            NETWORK_DATE;
+
+        buffer.writeVarInt(dateKind | (foodTraits.size() << 2));
+        if (dateKind == NETWORK_DATE)
+        {
+            buffer.writeVarLong(creationDate);
+        }
+        for (FoodTrait trait : foodTraits)
+        {
+            buffer.writeVarInt(FoodTrait.getNetworkId(trait));
+        }
+    }
+
+    public void fromNetwork(FriendlyByteBuf buffer)
+    {
+        final int header = buffer.readVarInt();
+        creationDate = switch (header & 3)
+            {
+                case NETWORK_ROTTEN -> ROTTEN_DATE;
+                case NETWORK_NEVER_DECAY -> NEVER_DECAY_CREATION_DATE;
+                case NETWORK_UNKNOWN -> UNKNOWN_CREATION_DATE;
+                default -> buffer.readVarLong();
+            };
+        foodTraits.clear();
+        for (int i = 0, count = header >>> 2; i < count; i++)
+        {
+            final FoodTrait trait = FoodTrait.getTraitByNetworkId(buffer.readVarInt());
+            if (trait != null)
+            {
+                foodTraits.add(trait);
+            }
+        }
+    }
+
     /**
      * This marks if the food data should be serialized. For normal food items, it isn't, because all values are provided on construction via CapabilityFood. Only mark this if food data will change per item stack
      */
-    protected boolean isDynamic()
+    public boolean isDynamic()
     {
         return false;
     }
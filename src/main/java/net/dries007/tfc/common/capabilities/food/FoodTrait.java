@@ -7,6 +7,7 @@
 package net.dries007.tfc.common.capabilities.food;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 import net.minecraft.ChatFormatting;
@@ -25,6 +26,12 @@ public class FoodTrait
 {
     private static final BiMap<ResourceLocation, FoodTrait> REGISTRY = HashBiMap.create();
 
+    /**
+     * Traits, indexed by their network id. Ids are assigned by sorting all traits by their registry name, so they are identical on both sides as long as both have the same traits registered, regardless of registration order.
+     * Built lazily, after registration is complete.
+     */
+    @Nullable private static volatile FoodTrait[] NETWORK_IDS;
+
     /**
      * Register a food trait.
      * This method is safe to call during parallel mod loading.
@@ -36,6 +43,7 @@ public class FoodTrait
             throw new IllegalArgumentException("Duplicate key: " + id);
         }
         REGISTRY.put(id, trait);
+        NETWORK_IDS = null;
         return trait;
     }
 
@@ -55,6 +63,44 @@ public class FoodTrait
         return REGISTRY.inverse().get(trait);
     }
 
+    public static int getNetworkId(FoodTrait trait)
+    {
+        final FoodTrait[] traits = getNetworkIds();
+        for (int i = 0; i < traits.length; i++)
+        {
+            if (traits[i] == trait)
+            {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unregistered food trait: " + trait);
+    }
+
+    @Nullable
+    public static FoodTrait getTraitByNetworkId(int id)
+    {
+        final FoodTrait[] traits = getNetworkIds();
+        return id >= 0 && id < traits.length ? traits[id] : null;
+    }
+
+    private static FoodTrait[] getNetworkIds()
+    {
+        FoodTrait[] traits = NETWORK_IDS;
+        if (traits == null)
+        {
+            synchronized (FoodTrait.class)
+            {
+                traits = REGISTRY.entrySet()
+                    .stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(Map.Entry::getValue)
+                    .toArray(FoodTrait[]::new);
+                NETWORK_IDS = traits;
+            }
+        }
+        return traits;
+    }
+
     private final Supplier<Float> decayModifier;
     @Nullable private final String translationKey;
 
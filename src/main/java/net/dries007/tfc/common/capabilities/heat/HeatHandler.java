@@ -8,12 +8,14 @@ package net.dries007.tfc.common.capabilities.heat;
 
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import net.dries007.tfc.common.capabilities.ItemStackCapabilitySync;
 import net.dries007.tfc.util.calendar.Calendars;
 
 public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
@@ -27,11 +29,14 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
     // This is almost "constant". Some implementations will want to change these based on other factors. (See molds or small vessels)
     protected float heatCapacity; // How fast temperature rises and drops
 
-    // These are the values from last point of update. They are updated when read from NBT, or when the temperature is set manually.
-    // Note that if temperature is == 0, lastUpdateTick should set itself to -1 to keep their capabilities compatible - i.e. stackable
+    // These are the values from last point of update. They are updated when read from NBT, or when the temperature is set manually, and reset to cold when serialized after fully cooling.
+    // Note that whenever a zero temperature is set or read, both are stored as zero, which is the same as the serialized representation of a cold item, to keep their capabilities compatible - i.e. stackable
     protected float temperature;
     protected long lastUpdateTick;
 
+    // The last result of getTemperature(), as it is queried many times per tick for the same stack. This may be read off thread, during syncs, so it is only ever replaced as a whole
+    @Nullable private CachedTemperature cachedTemperature;
+
     /**
      * Default ItemHeatHandler implementation
      *
@@ -53,7 +58,28 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
     @Override
     public float getTemperature()
     {
-        return HeatCapability.adjustTemp(temperature, getHeatCapacity(), Calendars.get().getTicks() - lastUpdateTick);
+        final float temperature = this.temperature;
+        if (temperature == 0)
+        {
+            return 0; // Cold items can never heat up by themselves, so this does not need to query the calendar
+        }
+
+        final long tick = Calendars.get().getTicks(), lastUpdateTick = this.lastUpdateTick;
+        final float heatCapacity = getHeatCapacity();
+
+        final CachedTemperature cached = cachedTemperature;
+        if (cached != null && cached.isFor(tick, temperature, heatCapacity, lastUpdateTick))
+        {
+            return cached.value();
+        }
+        if (cached != null && cached.isColdFor(tick, temperature, heatCapacity, lastUpdateTick))
+        {
+            return 0; // Cooling never reverses, so once this has cooled to zero it stays there, without recomputing or replacing the cache each tick
+        }
+
+        final float value = HeatCapability.adjustTemp(temperature, heatCapacity, tick - lastUpdateTick);
+        cachedTemperature = new CachedTemperature(tick, temperature, heatCapacity, lastUpdateTick, value);
+        return value;
     }
 
     /**
@@ -64,8 +90,17 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
     @Override
     public void setTemperature(float temperature)
     {
-        this.temperature = temperature;
-        this.lastUpdateTick = Calendars.get().getTicks();
+        if (temperature <= 0)
+        {
+            // Store the cold representation, so this stacks with (and serializes identically to) any other cold item
+            this.temperature = 0;
+            this.lastUpdateTick = 0;
+        }
+        else
+        {
+            this.temperature = temperature;
+            this.lastUpdateTick = Calendars.get().getTicks();
+        }
     }
 
     @Override
@@ -103,7 +138,10 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
         CompoundTag nbt = new CompoundTag();
         if (getTemperature() <= 0)
         {
-            // Reset temperature to zero
+            // Reset temperature to zero, both in the tag and in memory, so a fully cooled item is cold from here on. This is safe as serialization happens on the thread that owns the stack, unlike network syncs, so it cannot race with a setTemperature().
+            // Either field on its own can only make getTemperature() cool further, so a concurrent reader still sees zero
+            lastUpdateTick = 0;
+            temperature = 0;
             nbt.putLong("ticks", 0);
             nbt.putFloat("heat", 0);
         }
@@ -122,6 +160,45 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
     {
         temperature = nbt.getFloat("heat");
         lastUpdateTick = nbt.getLong("ticks");
+        if (temperature <= 0)
+        {
+            temperature = 0;
+            lastUpdateTick = 0;
+        }
+    }
+
+    /**
+     * Writes the same state as {@link #serializeNBT()}, in the compact network format.
+     *
+     * @see ItemStackCapabilitySync
+     */
+    public void toNetwork(FriendlyByteBuf buffer)
+    {
+        // Matches serializeNBT(), including being lazy. A zero temperature is by far the most common, and is written as a single byte
+        if (getTemperature() <= 0)
+        {
+            buffer.writeBoolean(false);
+        }
+        else
+        {
+            buffer.writeBoolean(true);
+            buffer.writeFloat(temperature);
+            buffer.writeVarLong(lastUpdateTick);
+        }
+    }
+
+    public void fromNetwork(FriendlyByteBuf buffer)
+    {
+        if (buffer.readBoolean())
+        {
+            temperature = buffer.readFloat();
+            lastUpdateTick = buffer.readVarLong();
+        }
+        else
+        {
+            temperature = 0;
+            lastUpdateTick = 0;
+        }
     }
 
     /**
@@ -136,4 +213,23 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
             this.heatCapacity = heatCapacity;
         }
     }
+
+    /**
+     * A temperature, along with everything it was computed from. It is only valid if all of those are unchanged, so it never needs to be explicitly cleared.
+     */
+    private record CachedTemperature(long tick, float temperature, float heatCapacity, long lastUpdateTick, float value)
+    {
+        boolean isFor(long tick, float temperature, float heatCapacity, long lastUpdateTick)
+        {
+            return this.tick == tick && this.temperature == temperature && this.heatCapacity == heatCapacity && this.lastUpdateTick == lastUpdateTick;
+        }
+
+        /**
+         * @return {@code true} if this cached a temperature of zero, for the same state, at or before the given tick.
+         */
+        boolean isColdFor(long tick, float temperature, float heatCapacity, long lastUpdateTick)
+        {
+            return value == 0 && this.tick <= tick && this.temperature == temperature && this.heatCapacity == heatCapacity && this.lastUpdateTick == lastUpdateTick;
+        }
+    }
 }
\ No newline at end of file
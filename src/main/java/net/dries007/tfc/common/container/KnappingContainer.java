@@ -112,9 +112,8 @@ public class KnappingContainer extends ItemStackContainer implements ButtonHandl
         final Slot slot = slots.get(SLOT_OUTPUT);
         if (player.level instanceof ServerLevel level)
         {
-            slot.set(level.getRecipeManager().getRecipeFor(recipeType, query, level)
-                .map(recipe -> recipe.assemble(query))
-                .orElse(ItemStack.EMPTY));
+            final KnappingRecipe recipe = KnappingRecipe.getRecipe(level, recipeType, query);
+            slot.set(recipe != null ? recipe.assemble(query) : ItemStack.EMPTY);
         }
     }
 
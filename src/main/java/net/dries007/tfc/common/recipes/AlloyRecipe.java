@@ -6,9 +6,13 @@
 
 package net.dries007.tfc.common.recipes;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -26,18 +30,44 @@ import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
 
 import net.dries007.tfc.common.recipes.inventory.AlloyInventory;
+import net.dries007.tfc.util.Alloy;
+import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.JsonHelpers;
 import net.dries007.tfc.util.Metal;
 import org.jetbrains.annotations.Nullable;
 
 public class AlloyRecipe implements ISimpleRecipe<AlloyInventory>
 {
+    /**
+     * Shared between both logical sides, as lookups have no side context. Either side rebuilds it when it reloads recipes, which in single player are the same recipes.
+     */
+    private static volatile Index index = new Index(List.of());
+
+    /**
+     * Finds the first recipe which matches {@code alloy}, in the same order as {@link #get(RecipeManager, AlloyInventory)} would, using the index built by {@link #updateIndex(RecipeManager)}.
+     */
+    public static Optional<AlloyRecipe> get(Alloy alloy)
+    {
+        return Optional.ofNullable(index.find(alloy));
+    }
+
+    /**
+     * Queries the recipe manager directly, which tests every alloy recipe in turn. Prefer {@link #get(Alloy)}.
+     */
     @SuppressWarnings("ConstantConditions")
     public static Optional<AlloyRecipe> get(RecipeManager recipes, AlloyInventory inventory)
     {
         return recipes.getRecipeFor(TFCRecipeTypes.ALLOY.get(), inventory, null);
     }
 
+    /**
+     * Rebuilds the recipe index. Called after recipes are reloaded (or synced), once metals are available.
+     */
+    public static void updateIndex(RecipeManager recipes)
+    {
+        index = new Index(Helpers.getRecipes(recipes, TFCRecipeTypes.ALLOY).values());
+    }
+
     private final ResourceLocation id;
     private final Supplier<Map<Metal, Range>> metals;
     private final Supplier<Metal> result;
@@ -97,6 +127,79 @@ public class AlloyRecipe implements ISimpleRecipe<AlloyInventory>
         }
     }
 
+    /**
+     * An index of alloy recipes, which is able to find the first matching recipe while only testing a handful of candidates.
+     * <p>
+     * A recipe can match an alloy in one of two ways (see {@link Alloy#matches(AlloyRecipe)}):
+     * <ul>
+     *     <li>If the alloy does not contain the recipe's result, the recipe's metals must be exactly the alloy's non-trace metals. So, recipes are indexed by their set of metals, and the alloy's own set of non-trace metals is the only key which needs to be checked.</li>
+     *     <li>If the alloy does contain the recipe's result, it is ignored, and the remaining metals are compared instead. So, recipes are also indexed by their result, and each metal in the alloy is checked.</li>
+     * </ul>
+     * Candidates found through both are then tested, and the one which comes first in the recipe manager wins.
+     */
+    static final class Index
+    {
+        private final Map<Set<Metal>, List<Entry>> byMetals;
+        private final Map<Metal, List<Entry>> byResult;
+
+        Index(Collection<AlloyRecipe> recipes)
+        {
+            this.byMetals = new HashMap<>();
+            this.byResult = new HashMap<>();
+
+            int order = 0;
+            for (AlloyRecipe recipe : recipes)
+            {
+                final Entry entry = new Entry(recipe, order++);
+                byMetals.computeIfAbsent(Set.copyOf(recipe.getRanges().keySet()), key -> new ArrayList<>()).add(entry);
+                byResult.computeIfAbsent(recipe.getResult(), key -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        @Nullable
+        AlloyRecipe find(Alloy alloy)
+        {
+            Entry best = findFirst(byMetals.get(alloy.getMetals().keySet()), alloy, Integer.MAX_VALUE);
+            if (!byResult.isEmpty())
+            {
+                for (Metal metal : alloy.getAllMetals())
+                {
+                    final Entry entry = findFirst(byResult.get(metal), alloy, best == null ? Integer.MAX_VALUE : best.order);
+                    if (entry != null)
+                    {
+                        best = entry;
+                    }
+                }
+            }
+            return best == null ? null : best.recipe;
+        }
+
+        /**
+         * @return The first entry in {@code entries} which comes before {@code before}, and matches {@code alloy}.
+         */
+        @Nullable
+        private Entry findFirst(@Nullable List<Entry> entries, Alloy alloy, int before)
+        {
+            if (entries != null)
+            {
+                for (Entry entry : entries)
+                {
+                    if (entry.order >= before)
+                    {
+                        break;
+                    }
+                    if (alloy.matches(entry.recipe))
+                    {
+                        return entry;
+                    }
+                }
+            }
+            return null;
+        }
+
+        record Entry(AlloyRecipe recipe, int order) {}
+    }
+
     public static class Serializer extends RecipeSerializerImpl<AlloyRecipe>
     {
         @Override
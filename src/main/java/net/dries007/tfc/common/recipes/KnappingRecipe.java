@@ -6,6 +6,7 @@
 
 package net.dries007.tfc.common.recipes;
 
+import java.util.List;
 import java.util.function.Supplier;
 
 import com.google.gson.JsonObject;
@@ -20,10 +21,57 @@ import net.minecraft.world.level.Level;
 
 import net.dries007.tfc.common.container.KnappingContainer;
 import net.dries007.tfc.util.KnappingPattern;
+import net.dries007.tfc.util.collections.IndirectHashCollection;
 import org.jetbrains.annotations.Nullable;
 
 public class KnappingRecipe implements ISimpleRecipe<KnappingContainer.Query>
 {
+    /**
+     * Knapping recipes, bucketed by the number of set cells in any pattern they could match (see {@link KnappingPattern#countWhenMatchedBy(int, int)}), so a query only needs to check recipes with the same count as the current pattern.
+     */
+    public static final IndirectHashCollection<Integer, KnappingRecipe> CLAY_CACHE = IndirectHashCollection.createForRecipe(KnappingRecipe::getCacheKeys, TFCRecipeTypes.CLAY_KNAPPING);
+    public static final IndirectHashCollection<Integer, KnappingRecipe> FIRE_CLAY_CACHE = IndirectHashCollection.createForRecipe(KnappingRecipe::getCacheKeys, TFCRecipeTypes.FIRE_CLAY_KNAPPING);
+    public static final IndirectHashCollection<Integer, KnappingRecipe> LEATHER_CACHE = IndirectHashCollection.createForRecipe(KnappingRecipe::getCacheKeys, TFCRecipeTypes.LEATHER_KNAPPING);
+    public static final IndirectHashCollection<Integer, RockKnappingRecipe> ROCK_CACHE = IndirectHashCollection.createForRecipe(KnappingRecipe::getCacheKeys, TFCRecipeTypes.ROCK_KNAPPING);
+
+    /**
+     * Finds the first recipe of the given type which matches, in the same order as {@link net.minecraft.world.item.crafting.RecipeManager#getRecipeFor(RecipeType, net.minecraft.world.Container, Level)} would.
+     */
+    @Nullable
+    public static KnappingRecipe getRecipe(Level level, RecipeType<? extends KnappingRecipe> type, KnappingContainer.Query query)
+    {
+        final KnappingPattern pattern = query.container().getPattern();
+        final IndirectHashCollection<Integer, ? extends KnappingRecipe> cache = getCache(type);
+        if (cache == null || pattern.getWidth() != KnappingPattern.MAX_WIDTH || pattern.getHeight() != KnappingPattern.MAX_HEIGHT)
+        {
+            // Unknown recipe types (from addons), or containers, are not cached
+            return level.getRecipeManager().getRecipeFor(type, query, level).orElse(null);
+        }
+        for (KnappingRecipe recipe : cache.getAll(pattern.count()))
+        {
+            if (recipe.matches(query, level))
+            {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static IndirectHashCollection<Integer, ? extends KnappingRecipe> getCache(RecipeType<?> type)
+    {
+        if (type == TFCRecipeTypes.CLAY_KNAPPING.get()) return CLAY_CACHE;
+        if (type == TFCRecipeTypes.FIRE_CLAY_KNAPPING.get()) return FIRE_CLAY_CACHE;
+        if (type == TFCRecipeTypes.LEATHER_KNAPPING.get()) return LEATHER_CACHE;
+        if (type == TFCRecipeTypes.ROCK_KNAPPING.get()) return ROCK_CACHE;
+        return null;
+    }
+
+    private static List<Integer> getCacheKeys(KnappingRecipe recipe)
+    {
+        return List.of(recipe.getPattern().countWhenMatchedBy(KnappingPattern.MAX_WIDTH, KnappingPattern.MAX_HEIGHT));
+    }
+
     protected final ResourceLocation id;
     protected final KnappingPattern pattern;
     protected final ItemStack result;
@@ -0,0 +1,50 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin;
+
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import net.dries007.tfc.util.SupportIndex;
+import net.dries007.tfc.util.SupportIndexBridge;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(LevelChunkSection.class)
+public abstract class LevelChunkSectionMixin implements SupportIndexBridge
+{
+    // null = not indexed, which is the case for almost all sections
+    private @Nullable SupportIndex tfc$supportIndex;
+
+    @Nullable
+    @Override
+    public SupportIndex tfc$getSupportIndex()
+    {
+        return tfc$supportIndex;
+    }
+
+    @Override
+    public void tfc$setSupportIndex(@Nullable SupportIndex index)
+    {
+        tfc$supportIndex = index;
+    }
+
+    /**
+     * Every block change, including those made during world generation, or by other mods, goes through here, so an existing index can never go stale.
+     */
+    @Inject(method = "setBlockState(IIILnet/minecraft/world/level/block/state/BlockState;Z)Lnet/minecraft/world/level/block/state/BlockState;", at = @At("RETURN"))
+    private void updateSupportIndex(int x, int y, int z, BlockState state, boolean useLocks, CallbackInfoReturnable<BlockState> cir)
+    {
+        if (tfc$supportIndex != null)
+        {
+            tfc$supportIndex.update(x, y, z, state);
+        }
+    }
+}
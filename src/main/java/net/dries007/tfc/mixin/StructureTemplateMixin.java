@@ -0,0 +1,47 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin;
+
+import java.util.function.Supplier;
+
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+
+import net.dries007.tfc.world.feature.tree.StructureTemplateBridge;
+import net.dries007.tfc.world.feature.tree.TreeTemplate;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(StructureTemplate.class)
+public abstract class StructureTemplateMixin implements StructureTemplateBridge
+{
+    // Compiled lazily, and discarded if the template is modified. Compiling is deterministic, so a race just compiles twice.
+    private volatile @Nullable TreeTemplate tfc$treeTemplate;
+
+    @Override
+    public TreeTemplate tfc$getTreeTemplate(Supplier<TreeTemplate> init)
+    {
+        TreeTemplate template = tfc$treeTemplate;
+        if (template == null)
+        {
+            template = init.get();
+            tfc$treeTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * Templates can be modified in place, either by loading, or by a structure block saving over an existing template.
+     */
+    @Inject(method = {"load", "fillFromWorld"}, at = @At("TAIL"))
+    private void invalidateTreeTemplate(CallbackInfo ci)
+    {
+        tfc$treeTemplate = null;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin.client;
+
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import net.dries007.tfc.util.SupportIndexBridge;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(LevelChunkSection.class)
+public abstract class LevelChunkSectionMixin
+{
+    /**
+     * The client replaces all states in an existing section when a chunk is re-sent, without going through {@link LevelChunkSection#setBlockState(int, int, int, net.minecraft.world.level.block.state.BlockState, boolean)}, so any support index must be rebuilt.
+     */
+    @Inject(method = "read", at = @At("RETURN"))
+    private void invalidateSupportIndex(CallbackInfo ci)
+    {
+        ((SupportIndexBridge) this).tfc$setSupportIndex(null);
+    }
+}
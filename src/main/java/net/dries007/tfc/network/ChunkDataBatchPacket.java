@@ -0,0 +1,128 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.network;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.network.NetworkEvent;
+import net.minecraftforge.network.PacketDistributor;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.dries007.tfc.client.ClientHelpers;
+import net.dries007.tfc.world.chunkdata.ChunkDataCache;
+
+/**
+ * Sent from server -> client, once per tick per player with pending changes. Contains all chunk data updates (on chunk watch, or chunk load), and all unwatched chunks for that tick.
+ * Updates are coalesced per chunk, so only the latest of a watch or unwatch for a given chunk is sent, and the client applies the whole batch in a single main thread task.
+ */
+public class ChunkDataBatchPacket
+{
+    private static final Map<ServerPlayer, Batch> PENDING = new IdentityHashMap<>();
+
+    /**
+     * Queues a chunk data update to be sent to the player at the end of this tick.
+     */
+    public static void queueUpdate(ServerPlayer player, ChunkWatchPacket update)
+    {
+        final Batch batch = PENDING.computeIfAbsent(player, key -> new Batch());
+        final long key = ChunkPos.asLong(update.chunkX(), update.chunkZ());
+        batch.unwatched.remove(key);
+        batch.updates.put(key, update);
+    }
+
+    /**
+     * Queues a chunk to be removed from the player's client side cache at the end of this tick.
+     */
+    public static void queueUnwatch(ServerPlayer player, ChunkPos pos)
+    {
+        final Batch batch = PENDING.computeIfAbsent(player, key -> new Batch());
+        final long key = pos.toLong();
+        batch.updates.remove(key);
+        batch.unwatched.add(key);
+    }
+
+    /**
+     * Sends all pending batches. Called at the end of every server tick.
+     */
+    public static void flush()
+    {
+        if (!PENDING.isEmpty())
+        {
+            for (Map.Entry<ServerPlayer, Batch> entry : PENDING.entrySet())
+            {
+                final Batch batch = entry.getValue();
+                final ServerPlayer player = entry.getKey();
+                PacketHandler.send(PacketDistributor.PLAYER.with(() -> player), new ChunkDataBatchPacket(new ArrayList<>(batch.updates.values()), batch.unwatched.toLongArray()));
+            }
+            PENDING.clear();
+        }
+    }
+
+    private final List<ChunkWatchPacket> updates;
+    private final long[] unwatched;
+
+    private ChunkDataBatchPacket(List<ChunkWatchPacket> updates, long[] unwatched)
+    {
+        this.updates = updates;
+        this.unwatched = unwatched;
+    }
+
+    ChunkDataBatchPacket(FriendlyByteBuf buffer)
+    {
+        final int updateCount = buffer.readVarInt();
+        updates = new ArrayList<>(updateCount);
+        for (int i = 0; i < updateCount; i++)
+        {
+            updates.add(new ChunkWatchPacket(buffer));
+        }
+        unwatched = buffer.readLongArray();
+    }
+
+    void encode(FriendlyByteBuf buffer)
+    {
+        buffer.writeVarInt(updates.size());
+        for (ChunkWatchPacket update : updates)
+        {
+            update.encode(buffer);
+        }
+        buffer.writeLongArray(unwatched);
+    }
+
+    void handle(NetworkEvent.Context context)
+    {
+        context.enqueueWork(() -> {
+            for (long pos : unwatched)
+            {
+                ChunkDataCache.CLIENT.remove(new ChunkPos(pos));
+            }
+            final LongSet updated = new LongOpenHashSet(updates.size());
+            for (ChunkWatchPacket update : updates)
+            {
+                update.apply();
+                updated.add(ChunkPos.asLong(update.chunkX(), update.chunkZ()));
+            }
+
+            // This arrives at the end of the server tick, after the chunks themselves, which may have already been meshed (and tinted) without climate data
+            ClientHelpers.onChunkDataReceived(updated, unwatched);
+        });
+    }
+
+    static final class Batch
+    {
+        final Long2ObjectLinkedOpenHashMap<ChunkWatchPacket> updates = new Long2ObjectLinkedOpenHashMap<>();
+        final LongSet unwatched = new LongLinkedOpenHashSet();
+    }
+}
@@ -12,14 +12,13 @@ import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.chunk.ChunkAccess;
-import net.minecraftforge.network.NetworkEvent;
 
 import net.dries007.tfc.client.ClientHelpers;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.world.chunkdata.*;
 
 /**
- * Sent from server -> client on chunk watch, partially syncs chunk data and updates the client cache
+ * Sent from server -> client on chunk watch, as part of a {@link ChunkDataBatchPacket}. Partially syncs chunk data and updates the client cache
  */
 public class ChunkWatchPacket
 {
@@ -68,24 +67,35 @@ public class ChunkWatchPacket
         buffer.writeByte(plateTectonicsInfo.ordinal());
     }
 
-    void handle(NetworkEvent.Context context)
+    int chunkX()
     {
-        context.enqueueWork(() -> {
-            ChunkPos pos = new ChunkPos(chunkX, chunkZ);
-            // Update client-side chunk data capability
-            Level world = ClientHelpers.getLevel();
-            if (world != null)
-            {
-                // First, synchronize the chunk data in the capability and cache.
-                // Then, update the single data instance with the packet data
-                ChunkAccess chunk = world.hasChunk(chunkX, chunkZ) ? world.getChunk(chunkX, chunkZ) : null;
-                ChunkData data = ChunkData.getCapability(chunk)
-                    .map(dataIn -> {
-                        ChunkDataCache.CLIENT.update(pos, dataIn);
-                        return dataIn;
-                    }).orElseGet(() -> ChunkDataCache.CLIENT.computeIfAbsent(pos, ChunkData::createClient));
-                data.onUpdatePacket(rainfallLayer, temperatureLayer, forestType, forestDensity, forestWeirdness, plateTectonicsInfo);
-            }
-        });
+        return chunkX;
+    }
+
+    int chunkZ()
+    {
+        return chunkZ;
+    }
+
+    /**
+     * Applies this update on the client main thread.
+     */
+    void apply()
+    {
+        ChunkPos pos = new ChunkPos(chunkX, chunkZ);
+        // Update client-side chunk data capability
+        Level world = ClientHelpers.getLevel();
+        if (world != null)
+        {
+            // First, synchronize the chunk data in the capability and cache.
+            // Then, update the single data instance with the packet data
+            ChunkAccess chunk = world.hasChunk(chunkX, chunkZ) ? world.getChunk(chunkX, chunkZ) : null;
+            ChunkData data = ChunkData.getCapability(chunk)
+                .map(dataIn -> {
+                    ChunkDataCache.CLIENT.update(pos, dataIn);
+                    return dataIn;
+                }).orElseGet(() -> ChunkDataCache.CLIENT.computeIfAbsent(pos, ChunkData::createClient));
+            data.onUpdatePacket(rainfallLayer, temperatureLayer, forestType, forestDensity, forestWeirdness, plateTectonicsInfo);
+        }
     }
 }
\ No newline at end of file
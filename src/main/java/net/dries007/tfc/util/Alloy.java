@@ -7,17 +7,15 @@
 package net.dries007.tfc.util;
 
 import java.util.Map;
+import java.util.Set;
 
 import net.dries007.tfc.common.recipes.AlloyRecipe;
 import org.jetbrains.annotations.Nullable;
 
-import com.google.common.collect.Sets;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.world.item.crafting.RecipeManager;
 
 import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
 import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
-import net.dries007.tfc.common.recipes.inventory.AlloyInventory;
 
 public class Alloy implements AlloyView
 {
@@ -44,7 +42,6 @@ public class Alloy implements AlloyView
     private int totalUnits;
     private int maxUnits;
 
-    @Nullable private AlloyInventory wrapper; // Lazy, initialized on demand and cached
     @Nullable private Metal cachedResult;
 
     /**
@@ -117,7 +114,7 @@ public class Alloy implements AlloyView
     }
 
     @Override
-    public Metal getResult(RecipeManager recipes)
+    public Metal getResult()
     {
         if (cachedResult == null)
         {
@@ -127,7 +124,7 @@ public class Alloy implements AlloyView
             }
             else
             {
-                cachedResult = AlloyRecipe.get(recipes, getWrapper())
+                cachedResult = AlloyRecipe.get(this)
                     .map(AlloyRecipe::getResult)
                     .orElseGet(Metal::unknown);
             }
@@ -197,6 +194,14 @@ public class Alloy implements AlloyView
         return sanitizedMetalMap;
     }
 
+    /**
+     * @return All metals in the alloy, including those present in only trace amounts. Unlike {@link #getMetals()}, this is not useful for anything except checking the presence of a metal.
+     */
+    public Set<Metal> getAllMetals()
+    {
+        return metalMap.keySet();
+    }
+
     public CompoundTag serializeNBT()
     {
         CompoundTag nbt = new CompoundTag();
@@ -237,18 +242,26 @@ public class Alloy implements AlloyView
         updateCaches();
     }
 
+    /**
+     * Checks if this alloy matches a recipe. If the alloy contains the recipe's result, that metal is ignored, and the remaining metals must match the recipe on their own.
+     * This is equivalent to comparing the recipe against a copy of this alloy with the result removed, but does not construct one.
+     */
     public boolean matches(AlloyRecipe recipe)
     {
-        if (metalMap.containsKey(recipe.getResult()))
+        final Metal result = recipe.getResult();
+        if (metalMap.containsKey(result))
         {
-            // Construct a dummy alloy to compare with. The dummy does not have an accurate total units value, this is intentional.
-            Alloy other = new Alloy();
-            other.add(this);
-            other.metalMap.removeDouble(recipe.getResult());
-            other.updateCaches();
-            return other.matchesExactly(recipe);
+            double actualTotalAmount = 0;
+            for (Object2DoubleMap.Entry<Metal> entry : metalMap.object2DoubleEntrySet())
+            {
+                if (entry.getKey() != result)
+                {
+                    actualTotalAmount += entry.getDoubleValue();
+                }
+            }
+            return matchesExactly(recipe, result, actualTotalAmount);
         }
-        return matchesExactly(recipe);
+        return matchesExactly(recipe, null, getExactAmount());
     }
 
     /**
@@ -285,28 +298,31 @@ public class Alloy implements AlloyView
         return metalMap.values().doubleStream().sum();
     }
 
-    private AlloyInventory getWrapper()
-    {
-        if (wrapper == null)
-        {
-            wrapper = new AlloyInventory(this);
-        }
-        return wrapper;
-    }
-
-    private boolean matchesExactly(AlloyRecipe recipe)
+    /**
+     * For each non-trace metal in the alloy, it needs to satisfy an ingredient, and for each metal in the recipe, it needs to match with a non-trace metal in the alloy.
+     * Since the former implies every non-trace metal is in the recipe, the latter holds exactly when there are as many non-trace metals as there are metals in the recipe.
+     *
+     * @param excluded          A metal which is ignored, as if it was not present in the alloy.
+     * @param actualTotalAmount The exact total amount of all metals, excluding {@code excluded}. Metals below {@link #EPSILON} of this are considered trace metals.
+     */
+    private boolean matchesExactly(AlloyRecipe recipe, @Nullable Metal excluded, double actualTotalAmount)
     {
-        // for each metal in the alloy, it needs to satisfy an ingredient
-        // for each metal in the recipe, it needs to match with an alloy
-        Object2DoubleMap<Metal> metals = getMetals();
-        double actualTotalAmount = getExactAmount();
-        for (Metal metal : Sets.union(recipe.getRanges().keySet(), metals.keySet()))
+        final Map<Metal, AlloyRecipe.Range> ranges = recipe.getRanges();
+        int matched = 0;
+        for (Object2DoubleMap.Entry<Metal> entry : metalMap.object2DoubleEntrySet())
         {
-            if (!metals.containsKey(metal) || !recipe.getRanges().containsKey(metal) || !recipe.getRanges().get(metal).isIn(metals.getDouble(metal) / actualTotalAmount, EPSILON))
+            final Metal metal = entry.getKey();
+            final double amount = entry.getDoubleValue();
+            if (metal != excluded && amount > actualTotalAmount * EPSILON)
             {
-                return false;
+                final AlloyRecipe.Range range = ranges.get(metal);
+                if (range == null || !range.isIn(amount / actualTotalAmount, EPSILON))
+                {
+                    return false;
+                }
+                matched++;
             }
         }
-        return true;
+        return matched == ranges.size();
     }
 }
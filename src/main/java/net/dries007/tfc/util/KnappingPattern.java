@@ -11,6 +11,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.util.GsonHelper;
+import org.jetbrains.annotations.Nullable;
 
 public class KnappingPattern
 {
@@ -56,6 +57,7 @@ public class KnappingPattern
     private final boolean empty;
 
     private int data; // on = 1, off = 0
+    @Nullable private volatile Placements placements; // Cleared on modification
 
     public KnappingPattern()
     {
@@ -93,6 +95,7 @@ public class KnappingPattern
     public void setAll(boolean value)
     {
         data = value ? (1 << (width * height)) - 1 : 0;
+        placements = null;
     }
 
     public void set(int x, int y, boolean value)
@@ -111,6 +114,7 @@ public class KnappingPattern
         {
             data &= ~(1 << index);
         }
+        placements = null;
     }
 
     public boolean get(int x, int y)
@@ -144,6 +148,24 @@ public class KnappingPattern
         return false;
     }
 
+    /**
+     * @return The number of set cells in this pattern.
+     */
+    public int count()
+    {
+        return Integer.bitCount(data & mask(width * height));
+    }
+
+    /**
+     * Any pattern which matches {@code this}, of the given size, has exactly this many cells set, regardless of where {@code this} is found within it. This is used to bucket recipes by the pattern they can possibly match.
+     *
+     * @return The number of set cells in a pattern of size {@code width x height}, which {@link #matches(KnappingPattern)} this.
+     */
+    public int countWhenMatchedBy(int width, int height)
+    {
+        return count() + (empty ? width * height - this.width * this.height : 0);
+    }
+
     /**
      * Used to check if a craft matrix matches another one.
      *
@@ -152,55 +174,72 @@ public class KnappingPattern
      */
     public boolean matches(KnappingPattern other)
     {
-        // Check all possible shifted positions
-        for (int dx = 0; dx <= this.width - other.width; dx++)
+        final int actual = data & mask(width * height);
+        for (int placement : other.getPlacements(width, height))
         {
-            for (int dy = 0; dy <= this.height - other.height; dy++)
+            if (actual == placement)
             {
-                if (matches(other, dx, dy, false) || matches(other, dx, dy, true))
-                {
-                    return true;
-                }
+                return true;
             }
         }
         return false;
     }
 
-    private boolean matches(KnappingPattern other, int startX, int startY, boolean mirror)
+    /**
+     * Every placement of this pattern within a larger pattern of a given size, in the order they were previously checked: by x offset, then y offset, unmirrored before mirrored.
+     * Each placement is the full data of the larger pattern: this pattern shifted (and possibly mirrored) into position, with all cells outside it set to {@link #empty}.
+     * <p>
+     * Recipe patterns are matched against the same size of pattern every time, so this is cached.
+     */
+    private int[] getPlacements(int width, int height)
+    {
+        final Placements cached = placements;
+        if (cached != null && cached.width == width && cached.height == height)
+        {
+            return cached.values;
+        }
+
+        final int[] values = new int[2 * Math.max(0, width - this.width + 1) * Math.max(0, height - this.height + 1)];
+        int index = 0;
+        for (int dx = 0; dx <= width - this.width; dx++)
+        {
+            for (int dy = 0; dy <= height - this.height; dy++)
+            {
+                values[index++] = place(width, height, dx, dy, false);
+                values[index++] = place(width, height, dx, dy, true);
+            }
+        }
+        placements = new Placements(width, height, values);
+        return values;
+    }
+
+    private int place(int width, int height, int startX, int startY, boolean mirror)
     {
-        for (int x = 0; x < this.width; x++)
+        final int rowMask = mask(this.width);
+        int value = 0, inside = 0;
+        for (int y = 0; y < this.height; y++)
         {
-            for (int y = 0; y < this.height; y++)
+            int row = (data >>> (y * this.width)) & rowMask;
+            if (mirror)
             {
-                int patternIdx = y * width + x;
-                if (x < startX || y < startY || x - startX >= other.width || y - startY >= other.height)
-                {
-                    // If the current position in the matrix is outside the pattern, the value should be set by other.empty
-                    if (get(patternIdx) != other.empty)
-                    {
-                        return false;
-                    }
-                }
-                else
-                {
-                    // Otherwise, the value must equal the value in the pattern
-                    int otherIdx;
-                    if (mirror)
-                    {
-                        otherIdx = (y - startY) * other.width + (other.width - 1 - (x - startX));
-                    }
-                    else
-                    {
-                        otherIdx = (y - startY) * other.width + (x - startX);
-                    }
-
-                    if (get(patternIdx) != other.get(otherIdx))
-                    {
-                        return false;
-                    }
-                }
+                row = Integer.reverse(row) >>> (32 - this.width);
             }
+
+            final int shift = (y + startY) * width + startX;
+            value |= row << shift;
+            inside |= rowMask << shift;
+        }
+        if (empty)
+        {
+            value |= mask(width * height) & ~inside;
         }
-        return true;
+        return value;
     }
-}
\ No newline at end of file
+
+    private static int mask(int bits)
+    {
+        return bits >= 32 ? -1 : (1 << bits) - 1;
+    }
+
+    private record Placements(int width, int height, int[] values) {}
+}
@@ -13,27 +13,40 @@ import java.util.function.Predicate;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import org.jetbrains.annotations.Nullable;
 
 /**
  * An API for programmatically checking a list of positions, returning true if all the predicates succeed.
+ * <p>
+ * Conditions which only need a block state (tags, or {@link Predicate}s of a block state) are kept separately from any other conditions, and are always checked first, as they are much cheaper than conditions which need to query block entities, or the sky.
+ * On first use, they are compiled into a flat array of offsets, which are read directly from each chunk, only resolving the chunk again when a position crosses into another.
  */
 public class MultiBlock implements BiPredicate<LevelAccessor, BlockPos>
 {
+    protected final List<StateCondition> stateConditions;
     protected final List<BiPredicate<LevelAccessor, BlockPos>> conditions;
 
+    @Nullable private volatile Compiled compiled; // Cleared on modification
+
     public MultiBlock()
     {
-        this.conditions = new ArrayList<>();
+        this(new ArrayList<>(), new ArrayList<>());
     }
 
-    MultiBlock(List<BiPredicate<LevelAccessor, BlockPos>> conditions)
+    MultiBlock(List<StateCondition> stateConditions, List<BiPredicate<LevelAccessor, BlockPos>> conditions)
     {
+        this.stateConditions = stateConditions;
         this.conditions = conditions;
     }
 
@@ -42,17 +55,19 @@ public class MultiBlock implements BiPredicate<LevelAccessor, BlockPos>
      */
     public MultiBlock copy()
     {
-        return new MultiBlock(new ArrayList<>(conditions));
+        return new MultiBlock(new ArrayList<>(stateConditions), new ArrayList<>(conditions));
     }
 
     public MultiBlock match(BlockPos posOffset, TagKey<Block> tagMatch)
     {
-        return match(posOffset, (level, pos) -> Helpers.isBlock(level.getBlockState(pos), tagMatch));
+        return match(posOffset, state -> Helpers.isBlock(state, tagMatch));
     }
 
     public MultiBlock match(BlockPos posOffset, Predicate<BlockState> stateMatcher)
     {
-        return match(posOffset, (level, pos) -> stateMatcher.test(level.getBlockState(pos)));
+        stateConditions.add(new StateCondition(posOffset.immutable(), stateMatcher));
+        compiled = null;
+        return this;
     }
 
     public <T extends BlockEntity> MultiBlock match(BlockPos posOffset, Predicate<T> blockEntityMatcher, BlockEntityType<T> type)
@@ -63,6 +78,16 @@ public class MultiBlock implements BiPredicate<LevelAccessor, BlockPos>
     public MultiBlock match(BlockPos posOffset, BiPredicate<LevelAccessor, BlockPos> condition)
     {
         conditions.add((level, pos) -> condition.test(level, pos.offset(posOffset)));
+        compiled = null;
+        return this;
+    }
+
+    public MultiBlock matchEachDirection(BlockPos posOffset, Predicate<BlockState> stateMatcher, Direction[] directions, int relativeAmount)
+    {
+        for (Direction d : directions)
+        {
+            match(posOffset.relative(d, relativeAmount), stateMatcher);
+        }
         return this;
     }
 
@@ -72,6 +97,16 @@ public class MultiBlock implements BiPredicate<LevelAccessor, BlockPos>
         {
             conditions.add((level, pos) -> condition.test(level, pos.offset(posOffset).relative(d, relativeAmount)));
         }
+        compiled = null;
+        return this;
+    }
+
+    public MultiBlock matchHorizontal(BlockPos posOffset, Predicate<BlockState> stateMatcher, int relativeAmount)
+    {
+        for (Direction d : Direction.Plane.HORIZONTAL)
+        {
+            match(posOffset.relative(d, relativeAmount), stateMatcher);
+        }
         return this;
     }
 
@@ -81,35 +116,111 @@ public class MultiBlock implements BiPredicate<LevelAccessor, BlockPos>
         {
             conditions.add((level, pos) -> condition.test(level, pos.offset(posOffset).relative(d, relativeAmount)));
         }
+        compiled = null;
         return this;
     }
 
+    /**
+     * Matches if any one of the conditions of {@code subMultiBlock} is true, relative to {@code baseOffset}.
+     */
     public MultiBlock matchOneOf(BlockPos baseOffset, MultiBlock subMultiBlock)
     {
-        BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
-        conditions.add((level, pos) -> {
-            for (BiPredicate<LevelAccessor, BlockPos> condition : subMultiBlock.conditions)
-            {
-                if (condition.test(level, mutable.set(pos).move(baseOffset)))
-                {
-                    return true;
-                }
-            }
-            return false;
-        });
+        conditions.add((level, pos) -> subMultiBlock.compile().test(level, pos.offset(baseOffset), false));
+        compiled = null;
         return this;
     }
 
     @Override
     public boolean test(LevelAccessor level, BlockPos pos)
     {
-        for (BiPredicate<LevelAccessor, BlockPos> condition : conditions)
+        return compile().test(level, pos, true);
+    }
+
+    private Compiled compile()
+    {
+        Compiled compiled = this.compiled;
+        if (compiled == null)
         {
-            if (!condition.test(level, pos))
+            compiled = new Compiled(stateConditions, conditions);
+            this.compiled = compiled;
+        }
+        return compiled;
+    }
+
+    protected record StateCondition(BlockPos offset, Predicate<BlockState> matcher) {}
+
+    /**
+     * An immutable snapshot of the conditions of a multiblock, which can be shared between threads.
+     */
+    private static final class Compiled
+    {
+        private final int[] offsets; // x, y, z of each state condition
+        private final Predicate<BlockState>[] matchers;
+        private final BiPredicate<LevelAccessor, BlockPos>[] conditions;
+
+        @SuppressWarnings("unchecked")
+        Compiled(List<StateCondition> stateConditions, List<BiPredicate<LevelAccessor, BlockPos>> conditions)
+        {
+            this.offsets = new int[stateConditions.size() * 3];
+            this.matchers = (Predicate<BlockState>[]) new Predicate[stateConditions.size()];
+            this.conditions = (BiPredicate<LevelAccessor, BlockPos>[]) conditions.toArray(new BiPredicate[0]);
+
+            for (int i = 0; i < matchers.length; i++)
+            {
+                final StateCondition condition = stateConditions.get(i);
+                offsets[3 * i] = condition.offset().getX();
+                offsets[3 * i + 1] = condition.offset().getY();
+                offsets[3 * i + 2] = condition.offset().getZ();
+                matchers[i] = condition.matcher();
+            }
+        }
+
+        /**
+         * @param all If {@code true}, all conditions must match, otherwise any one condition must match.
+         */
+        boolean test(LevelAccessor level, BlockPos origin, boolean all)
+        {
+            final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+            final Level actualLevel = level instanceof Level l ? l : null;
+
+            LevelChunk chunk = null;
+            for (int i = 0; i < matchers.length; i++)
+            {
+                cursor.setWithOffset(origin, offsets[3 * i], offsets[3 * i + 1], offsets[3 * i + 2]);
+
+                final BlockState state;
+                if (actualLevel == null)
+                {
+                    state = level.getBlockState(cursor);
+                }
+                else if (actualLevel.isOutsideBuildHeight(cursor))
+                {
+                    state = Blocks.VOID_AIR.defaultBlockState(); // As per Level#getBlockState
+                }
+                else
+                {
+                    final int chunkX = SectionPos.blockToSectionCoord(cursor.getX()), chunkZ = SectionPos.blockToSectionCoord(cursor.getZ());
+                    if (chunk == null || chunk.getPos().x != chunkX || chunk.getPos().z != chunkZ)
+                    {
+                        chunk = actualLevel.getChunk(chunkX, chunkZ);
+                    }
+                    state = chunk.getBlockState(cursor);
+                }
+
+                if (matchers[i].test(state) != all)
+                {
+                    return !all;
+                }
+            }
+
+            for (BiPredicate<LevelAccessor, BlockPos> condition : conditions)
             {
-                return false;
+                if (condition.test(level, origin) != all)
+                {
+                    return !all;
+                }
             }
+            return all;
         }
-        return true;
     }
 }
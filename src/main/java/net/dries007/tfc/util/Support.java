@@ -11,12 +11,15 @@ import java.util.Set;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.LevelReader;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
 import org.jetbrains.annotations.Nullable;
 
 import net.dries007.tfc.common.recipes.ingredients.BlockIngredient;
@@ -38,15 +41,74 @@ public final class Support
      * Finds all unsupported positions in a large area. It's more efficient than checking each block individually and calling {@link Support#isSupported(BlockGetter, BlockPos)}
      */
     public static Set<BlockPos> findUnsupportedPositions(BlockGetter worldIn, BlockPos from, BlockPos to)
+    {
+        final int minX = Math.min(from.getX(), to.getX());
+        final int maxX = Math.max(from.getX(), to.getX());
+        final int minY = Math.min(from.getY(), to.getY());
+        final int maxY = Math.max(from.getY(), to.getY());
+        final int minZ = Math.min(from.getZ(), to.getZ());
+        final int maxZ = Math.max(from.getZ(), to.getZ());
+        if (!(worldIn instanceof LevelReader level))
+        {
+            return findUnsupportedPositionsByScan(worldIn, minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        // Mark every position in the area which is supported by any support in range
+        final int sizeX = maxX - minX + 1, sizeY = maxY - minY + 1, sizeZ = maxZ - minZ + 1;
+        final boolean[] supported = new boolean[sizeX * sizeY * sizeZ];
+        visitSupportsInRange(level, minX, minY, minZ, maxX, maxY, maxZ, (x, y, z, support) -> {
+            // Equivalent to iterating getSupportedArea(), clipped to the area
+            final int fromX = Math.max(x - support.supportHorizontal, minX), toX = Math.min(x + support.supportHorizontal, maxX);
+            final int fromY = Math.max(y - support.supportDown, minY), toY = Math.min(y + support.supportUp, maxY);
+            final int fromZ = Math.max(z - support.supportHorizontal, minZ), toZ = Math.min(z + support.supportHorizontal, maxZ);
+            for (int supportedY = fromY; supportedY <= toY; supportedY++)
+            {
+                for (int supportedZ = fromZ; supportedZ <= toZ; supportedZ++)
+                {
+                    for (int supportedX = fromX; supportedX <= toX; supportedX++)
+                    {
+                        supported[(supportedX - minX) + sizeX * ((supportedZ - minZ) + sizeZ * (supportedY - minY))] = true;
+                    }
+                }
+            }
+            return false;
+        });
+
+        final Set<BlockPos> listUnsupported = new HashSet<>();
+        for (int y = minY; y <= maxY; y++)
+        {
+            for (int z = minZ; z <= maxZ; z++)
+            {
+                for (int x = minX; x <= maxX; x++)
+                {
+                    if (!supported[(x - minX) + sizeX * ((z - minZ) + sizeZ * (y - minY))])
+                    {
+                        listUnsupported.add(new BlockPos(x, y, z));
+                    }
+                }
+            }
+        }
+        return listUnsupported;
+    }
+
+    public static boolean isSupported(BlockGetter world, BlockPos pos)
+    {
+        if (!(world instanceof LevelReader level))
+        {
+            return isSupportedByScan(world, pos);
+        }
+        return visitSupportsInRange(level, pos.getX(), pos.getY(), pos.getZ(), pos.getX(), pos.getY(), pos.getZ(), (x, y, z, support) -> support.canSupport(x, y, z, pos));
+    }
+
+    public static Iterable<BlockPos> getMaximumSupportedAreaAround(BlockPos minPoint, BlockPos maxPoint)
+    {
+        return BlockPos.betweenClosed(minPoint.offset(-RANGE.horizontal(), -RANGE.down(), -RANGE.horizontal()), maxPoint.offset(RANGE.horizontal(), RANGE.up(), RANGE.horizontal()));
+    }
+
+    private static Set<BlockPos> findUnsupportedPositionsByScan(BlockGetter worldIn, int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
     {
         Set<BlockPos> listSupported = new HashSet<>();
         Set<BlockPos> listUnsupported = new HashSet<>();
-        int minX = Math.min(from.getX(), to.getX());
-        int maxX = Math.max(from.getX(), to.getX());
-        int minY = Math.min(from.getY(), to.getY());
-        int maxY = Math.max(from.getY(), to.getY());
-        int minZ = Math.min(from.getZ(), to.getZ());
-        int maxZ = Math.max(from.getZ(), to.getZ());
         for (BlockPos searchingPoint : getMaximumSupportedAreaAround(new BlockPos(minX, minY, minZ), new BlockPos(maxX, maxY, maxZ)))
         {
             if (!listSupported.contains(searchingPoint))
@@ -70,7 +132,7 @@ public final class Support
         return listUnsupported;
     }
 
-    public static boolean isSupported(BlockGetter world, BlockPos pos)
+    private static boolean isSupportedByScan(BlockGetter world, BlockPos pos)
     {
         for (BlockPos supportPos : getMaximumSupportedAreaAround(pos, pos))
         {
@@ -84,9 +146,43 @@ public final class Support
         return false;
     }
 
-    public static Iterable<BlockPos> getMaximumSupportedAreaAround(BlockPos minPoint, BlockPos maxPoint)
+    /**
+     * Visits every support which could support a position in the given area, i.e. every support in {@link #getMaximumSupportedAreaAround(BlockPos, BlockPos)}, using the {@link SupportIndex} of each section in range.
+     *
+     * @return {@code true} if the visitor returned {@code true} for any support, stopping early.
+     */
+    private static boolean visitSupportsInRange(LevelReader level, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, SupportVisitor visitor)
     {
-        return BlockPos.betweenClosed(minPoint.offset(-RANGE.horizontal(), -RANGE.down(), -RANGE.horizontal()), maxPoint.offset(RANGE.horizontal(), RANGE.up(), RANGE.horizontal()));
+        final SupportRange range = RANGE;
+        final int fromX = minX - range.horizontal(), toX = maxX + range.horizontal();
+        final int fromY = minY - range.down(), toY = maxY + range.up();
+        final int fromZ = minZ - range.horizontal(), toZ = maxZ + range.horizontal();
+
+        final int minSectionIndex = Math.max(0, level.getSectionIndex(fromY));
+        final int maxSectionIndex = Math.min(level.getSectionsCount() - 1, level.getSectionIndex(toY));
+        for (int chunkX = SectionPos.blockToSectionCoord(fromX); chunkX <= SectionPos.blockToSectionCoord(toX); chunkX++)
+        {
+            for (int chunkZ = SectionPos.blockToSectionCoord(fromZ); chunkZ <= SectionPos.blockToSectionCoord(toZ); chunkZ++)
+            {
+                final ChunkAccess chunk = level.getChunk(chunkX, chunkZ);
+                for (int sectionIndex = minSectionIndex; sectionIndex <= maxSectionIndex; sectionIndex++)
+                {
+                    final SupportIndex index = SupportIndex.get(chunk.getSection(sectionIndex));
+                    final int originX = SectionPos.sectionToBlockCoord(chunkX);
+                    final int originY = SectionPos.sectionToBlockCoord(level.getSectionYFromSectionIndex(sectionIndex));
+                    final int originZ = SectionPos.sectionToBlockCoord(chunkZ);
+                    for (int i = 0; i < index.size(); i++)
+                    {
+                        final int x = originX + index.x(i), y = originY + index.y(i), z = originZ + index.z(i);
+                        if (fromX <= x && x <= toX && fromY <= y && y <= toY && fromZ <= z && z <= toZ && visitor.visit(x, y, z, index.support(i)))
+                        {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
     }
 
     @Nullable
@@ -114,6 +210,7 @@ public final class Support
         }
 
         RANGE = new SupportRange(up, down, horizontal);
+        SupportIndex.invalidateAll();
     }
 
     private final ResourceLocation id;
@@ -172,8 +269,13 @@ public final class Support
 
     public boolean canSupport(BlockPos supportPos, BlockPos testPos)
     {
-        BlockPos diff = supportPos.subtract(testPos);
-        return Math.abs(diff.getX()) <= supportHorizontal && -supportDown <= diff.getY() && diff.getY() <= supportUp && Math.abs(diff.getZ()) <= supportHorizontal;
+        return canSupport(supportPos.getX(), supportPos.getY(), supportPos.getZ(), testPos);
+    }
+
+    public boolean canSupport(int supportX, int supportY, int supportZ, BlockPos testPos)
+    {
+        final int diffX = supportX - testPos.getX(), diffY = supportY - testPos.getY(), diffZ = supportZ - testPos.getZ();
+        return Math.abs(diffX) <= supportHorizontal && -supportDown <= diffY && diffY <= supportUp && Math.abs(diffZ) <= supportHorizontal;
     }
 
     public Iterable<BlockPos> getSupportedArea(BlockPos center)
@@ -192,5 +294,11 @@ public final class Support
 
     public record SupportRange(int up, int down, int horizontal) {}
 
+    @FunctionalInterface
+    private interface SupportVisitor
+    {
+        boolean visit(int x, int y, int z, Support support);
+    }
+
     public static class Packet extends DataManagerSyncPacket<Support> {}
 }
\ No newline at end of file
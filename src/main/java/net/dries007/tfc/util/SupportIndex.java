@@ -0,0 +1,153 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util;
+
+import java.util.Arrays;
+
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+/**
+ * An index of all the support blocks (see {@link Support}) in a single chunk section, so support queries only need to visit supports, rather than every block in range.
+ * <p>
+ * An index is built lazily, the first time a section is queried, and is then kept up to date by every block change in that section (see {@link SupportIndexBridge}). Sections which cannot contain a support, according to their palette, are never scanned.
+ * Indexes are discarded when supports are reloaded, as both the set of support blocks, and the {@link Support} instances themselves, may have changed.
+ * <p>
+ * Positions are packed as section-local indexes, {@code x | z << 4 | y << 8}. This is only accessed from the thread that owns the section (the server, or client, main thread).
+ */
+public final class SupportIndex
+{
+    private static volatile int generation;
+
+    /**
+     * @return The index for a section, building it if required.
+     */
+    public static SupportIndex get(LevelChunkSection section)
+    {
+        final SupportIndexBridge bridge = (SupportIndexBridge) section;
+        SupportIndex index = bridge.tfc$getSupportIndex();
+        if (index == null || index.generation != generation)
+        {
+            index = build(section);
+            bridge.tfc$setSupportIndex(index);
+        }
+        return index;
+    }
+
+    /**
+     * Invalidates all existing indexes. Called when supports are reloaded.
+     */
+    public static void invalidateAll()
+    {
+        generation++;
+    }
+
+    private static SupportIndex build(LevelChunkSection section)
+    {
+        final SupportIndex index = new SupportIndex(generation);
+        if (!section.hasOnlyAir() && section.maybeHas(state -> Support.get(state) != null))
+        {
+            for (int y = 0; y < 16; y++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    for (int x = 0; x < 16; x++)
+                    {
+                        final Support support = Support.get(section.getBlockState(x, y, z));
+                        if (support != null)
+                        {
+                            index.add(pack(x, y, z), support);
+                        }
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    private static short pack(int x, int y, int z)
+    {
+        return (short) (x | (z << 4) | (y << 8));
+    }
+
+    private final int generation;
+    private short[] positions;
+    private Support[] supports;
+    private int size;
+
+    private SupportIndex(int generation)
+    {
+        this.generation = generation;
+        this.positions = new short[0];
+        this.supports = new Support[0];
+        this.size = 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public int x(int i)
+    {
+        return positions[i] & 15;
+    }
+
+    public int y(int i)
+    {
+        return (positions[i] >> 8) & 15;
+    }
+
+    public int z(int i)
+    {
+        return (positions[i] >> 4) & 15;
+    }
+
+    public Support support(int i)
+    {
+        return supports[i];
+    }
+
+    /**
+     * Called after a block in the section is changed, with section-local coordinates.
+     */
+    public void update(int x, int y, int z, BlockState state)
+    {
+        final short pos = pack(x, y, z);
+        for (int i = 0; i < size; i++)
+        {
+            if (positions[i] == pos)
+            {
+                // Swap remove
+                size--;
+                positions[i] = positions[size];
+                supports[i] = supports[size];
+                supports[size] = null;
+                break;
+            }
+        }
+
+        final Support support = Support.get(state);
+        if (support != null)
+        {
+            add(pos, support);
+        }
+    }
+
+    private void add(short pos, Support support)
+    {
+        if (size == positions.length)
+        {
+            final int capacity = Math.max(4, size << 1);
+            positions = Arrays.copyOf(positions, capacity);
+            supports = Arrays.copyOf(supports, capacity);
+        }
+        positions[size] = pos;
+        supports[size] = support;
+        size++;
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util;
+
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The bridge interface for chunk sections, allowing them to hold a {@link SupportIndex}.
+ * Do not call directly.
+ *
+ * @see SupportIndex#get(LevelChunkSection)
+ */
+public interface SupportIndexBridge
+{
+    @Nullable
+    SupportIndex tfc$getSupportIndex();
+
+    void tfc$setSupportIndex(@Nullable SupportIndex index);
+}
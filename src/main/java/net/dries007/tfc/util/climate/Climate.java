@@ -20,6 +20,7 @@ import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraftforge.common.MinecraftForge;
+import org.jetbrains.annotations.Nullable;
 
 import net.dries007.tfc.mixin.accessor.BiomeAccessor;
 import net.dries007.tfc.util.Helpers;
@@ -44,6 +45,8 @@ public final class Climate
 {
     private static final BiMap<ResourceLocation, ClimateModelType> REGISTRY = HashBiMap.create();
 
+    @Nullable private static ClimateModel fallbackModel; // Biome based, with no persistent data, so it may be shared
+
     /**
      * Register a new climate model factory.
      * The supplier should return a <strong>new instance</strong> each time it is invoked, as it may be used for multiple dimensions.
@@ -184,10 +187,21 @@ public final class Climate
         return ((BiomeAccessor) (Object) fallback).invoke$getTemperature(pos);
     }
 
+    /**
+     * This is called for almost every climate query, so avoid the allocations of {@link net.minecraftforge.common.util.LazyOptional#map}, and creating a new fallback model each time.
+     */
     public static ClimateModel model(Level level)
     {
-        return level.getCapability(WorldTrackerCapability.CAPABILITY)
-            .map(WorldTracker::getClimateModel)
-            .orElse(ClimateModels.BIOME_BASED.get().create());
+        final WorldTracker tracker = Helpers.getCapability(level, WorldTrackerCapability.CAPABILITY);
+        if (tracker != null)
+        {
+            return tracker.getClimateModel();
+        }
+        ClimateModel fallback = fallbackModel;
+        if (fallback == null)
+        {
+            fallback = fallbackModel = ClimateModels.BIOME_BASED.get().create();
+        }
+        return fallback;
     }
 }
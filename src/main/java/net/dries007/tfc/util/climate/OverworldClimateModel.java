@@ -108,6 +108,9 @@ public class OverworldClimateModel implements WorldGenClimateModel
     private ClimateSettings temperatureSettings = ClimateSettings.DEFAULT;
     private long climateSeed = 0;
 
+    // The time dependent parts of the temperature, which are shared by every query at the same calendar tick
+    private volatile TimeFactors timeFactors = TimeFactors.NONE;
+
     // For world generation climate
     private Noise2D snowPatchNoise = (x, z) -> 0;
     private Noise2D icePatchNoise = (x, z) -> 0;
@@ -124,15 +127,15 @@ public class OverworldClimateModel implements WorldGenClimateModel
     @Override
     public float getTemperature(@Nullable LevelReader level, BlockPos pos, ChunkData data, long calendarTicks, int daysInMonth)
     {
-        // Month temperature
-        final Month currentMonth = ICalendar.getMonthOfYear(calendarTicks, daysInMonth);
-        final float delta = ICalendar.getFractionOfMonth(calendarTicks, daysInMonth);
-        final float monthFactor = Mth.lerp(delta, currentMonth.getTemperatureModifier(), currentMonth.next().getTemperatureModifier());
+        return getTemperature(pos.getX(), pos.getY(), pos.getZ(), data, calendarTicks, daysInMonth);
+    }
 
-        final float monthTemperature = calculateMonthlyTemperature(pos.getZ(), monthFactor);
-        final float dailyTemperature = calculateDailyTemperature(calendarTicks);
+    public float getTemperature(int x, int y, int z, ChunkData data, long calendarTicks, int daysInMonth)
+    {
+        final TimeFactors factors = getTimeFactors(calendarTicks, daysInMonth);
+        final float monthTemperature = calculateMonthlyTemperature(z, factors.monthFactor);
 
-        return adjustTemperatureByElevation(pos.getY(), data.getAverageTemp(pos), monthTemperature, dailyTemperature);
+        return adjustTemperatureByElevation(y, data.getAverageTemp(x, z), monthTemperature, factors.dailyTemperature);
     }
 
     @Override
@@ -214,7 +217,7 @@ public class OverworldClimateModel implements WorldGenClimateModel
                 mutablePos.set(x, level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z), z);
 
                 final float noise = snowPatchNoise.noise(x, z);
-                final float temperature = getTemperature(null, mutablePos, chunkData, Calendars.SERVER.getCalendarTicks(), Calendars.SERVER.getCalendarDaysInMonth());
+                final float temperature = getTemperature(x, mutablePos.getY(), z, chunkData, Calendars.SERVER.getCalendarTicks(), Calendars.SERVER.getCalendarDaysInMonth());
                 final float snowTemperatureModifier = Mth.clampedMap(temperature, -10f, 2f, -1, 1);
 
                 // Handle snow
@@ -308,6 +311,7 @@ public class OverworldClimateModel implements WorldGenClimateModel
         // Update climate settings
         temperatureSettings = level.getChunkSource().getGenerator() instanceof ChunkGeneratorExtension ex ? ex.getBiomeSourceExtension().settings().temperatureSettings() : ClimateSettings.DEFAULT;
         climateSeed = LinearCongruentialGenerator.next(level.getSeed(), 719283741234L);
+        timeFactors = TimeFactors.NONE;
 
         updateNoise();
     }
@@ -328,6 +332,7 @@ public class OverworldClimateModel implements WorldGenClimateModel
 
         temperatureSettings = new ClimateSettings(scale, endless);
         climateSeed = buffer.readLong();
+        timeFactors = TimeFactors.NONE;
     }
 
     protected void updateNoise()
@@ -336,6 +341,25 @@ public class OverworldClimateModel implements WorldGenClimateModel
         this.icePatchNoise = new OpenSimplex2D(climateSeed + 192639412341L).octaves(3).spread(0.6f);
     }
 
+    /**
+     * Almost every temperature query in a tick is for the same calendar tick, so the month factor and daily temperature (which needs a seeded {@link Random}) are computed once, and reused until the calendar moves on.
+     */
+    protected TimeFactors getTimeFactors(long calendarTicks, int daysInMonth)
+    {
+        TimeFactors factors = timeFactors;
+        if (factors.calendarTicks != calendarTicks || factors.daysInMonth != daysInMonth)
+        {
+            // Month temperature
+            final Month currentMonth = ICalendar.getMonthOfYear(calendarTicks, daysInMonth);
+            final float delta = ICalendar.getFractionOfMonth(calendarTicks, daysInMonth);
+            final float monthFactor = Mth.lerp(delta, currentMonth.getTemperatureModifier(), currentMonth.next().getTemperatureModifier());
+
+            factors = new TimeFactors(calendarTicks, daysInMonth, monthFactor, calculateDailyTemperature(calendarTicks));
+            timeFactors = factors;
+        }
+        return factors;
+    }
+
     /**
      * Adjusts a series of temperature factors by elevation. Returns the sum temperature after adjustment.
      */
@@ -404,4 +428,9 @@ public class OverworldClimateModel implements WorldGenClimateModel
         seed = LinearCongruentialGenerator.next(seed, salt);
         return new Random(seed);
     }
+
+    protected record TimeFactors(long calendarTicks, int daysInMonth, float monthFactor, float dailyTemperature)
+    {
+        static final TimeFactors NONE = new TimeFactors(Long.MIN_VALUE, 0, 0, 0);
+    }
 }
@@ -20,12 +20,32 @@ public interface BiomeNoiseSampler
     {
         return new BiomeNoiseSampler()
         {
+            private final float[] chunkHeight = new float[16 * 16];
+            private int chunkMinX, chunkMinZ;
+            private boolean chunkPrepared;
+
             private float height;
 
+            @Override
+            public void prepareChunk(int chunkMinX, int chunkMinZ)
+            {
+                this.chunkMinX = chunkMinX;
+                this.chunkMinZ = chunkMinZ;
+                this.chunkPrepared = true;
+                heightNoise.noiseGrid(chunkMinX, chunkMinZ, 16, 16, chunkHeight);
+            }
+
+            @Override
+            public void clearChunk()
+            {
+                chunkPrepared = false;
+            }
+
             @Override
             public void setColumn(int x, int z)
             {
-                height = heightNoise.noise(x, z);
+                final int localX = x - chunkMinX, localZ = z - chunkMinZ;
+                height = chunkPrepared && (localX & ~15) == 0 && (localZ & ~15) == 0 ? chunkHeight[localX + 16 * localZ] : heightNoise.noise(x, z);
             }
 
             @Override
@@ -46,14 +66,46 @@ public interface BiomeNoiseSampler
     {
         return new BiomeNoiseSampler()
         {
+            private final float[] chunkHeight = new float[16 * 16], chunkCarvingHeight = new float[16 * 16], chunkCarvingCenter = new float[16 * 16];
+            private int chunkMinX, chunkMinZ;
+            private boolean chunkPrepared;
+
             private float height, carvingHeight, carvingCenter;
 
+            @Override
+            public void prepareChunk(int chunkMinX, int chunkMinZ)
+            {
+                this.chunkMinX = chunkMinX;
+                this.chunkMinZ = chunkMinZ;
+                this.chunkPrepared = true;
+                heightNoise.noiseGrid(chunkMinX, chunkMinZ, 16, 16, chunkHeight);
+                carvingHeightNoise.noiseGrid(chunkMinX, chunkMinZ, 16, 16, chunkCarvingHeight);
+                carvingCenterNoise.noiseGrid(chunkMinX, chunkMinZ, 16, 16, chunkCarvingCenter);
+            }
+
+            @Override
+            public void clearChunk()
+            {
+                chunkPrepared = false;
+            }
+
             @Override
             public void setColumn(int x, int z)
             {
-                height = heightNoise.noise(x, z);
-                carvingHeight = carvingHeightNoise.noise(x, z);
-                carvingCenter = carvingCenterNoise.noise(x, z);
+                final int localX = x - chunkMinX, localZ = z - chunkMinZ;
+                if (chunkPrepared && (localX & ~15) == 0 && (localZ & ~15) == 0)
+                {
+                    final int index = localX + 16 * localZ;
+                    height = chunkHeight[index];
+                    carvingHeight = chunkCarvingHeight[index];
+                    carvingCenter = chunkCarvingCenter[index];
+                }
+                else
+                {
+                    height = heightNoise.noise(x, z);
+                    carvingHeight = carvingHeightNoise.noise(x, z);
+                    carvingCenter = carvingCenterNoise.noise(x, z);
+                }
             }
 
             @Override
@@ -71,6 +123,16 @@ public interface BiomeNoiseSampler
         };
     }
 
+    /**
+     * Optionally precomputes every column of the 16x16 chunk starting at {@code (chunkMinX, chunkMinZ)}, using batched noise sampling. Calls to {@link #setColumn(int, int)} within that chunk may then use the precomputed values.
+     */
+    default void prepareChunk(int chunkMinX, int chunkMinZ) {}
+
+    /**
+     * Discards any columns precomputed by {@link #prepareChunk(int, int)}, so this sampler can be reused for another chunk.
+     */
+    default void clearChunk() {}
+
     void setColumn(int x, int z);
 
     double height();
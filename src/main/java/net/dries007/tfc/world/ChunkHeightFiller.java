@@ -7,6 +7,7 @@
 package net.dries007.tfc.world;
 
 import java.util.Map;
+import java.util.Set;
 
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.LevelHeightAccessor;
@@ -14,6 +15,7 @@ import net.minecraft.world.level.levelgen.Heightmap;
 
 import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
 import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.dries007.tfc.world.biome.BiomeExtension;
 
 /**
@@ -27,13 +29,46 @@ public class ChunkHeightFiller
 
     protected final Object2DoubleMap<BiomeExtension>[] sampledBiomeWeights; // 7x7 array of biome weights, at quart pos resolution
     protected final Object2DoubleMap<BiomeExtension> biomeWeights1; // Local biome weights, for individual column adjustment
+    protected final Set<BiomeNoiseSampler> preparedBiomeNoiseSamplers; // Samplers already prepared by prepareChunk()
 
     public ChunkHeightFiller(Map<BiomeExtension, BiomeNoiseSampler> biomeNoiseSamplers, Object2DoubleMap<BiomeExtension>[] sampledBiomeWeights)
+    {
+        this(biomeNoiseSamplers, sampledBiomeWeights, new Object2DoubleOpenHashMap<>(), new Object2DoubleOpenHashMap<>(), new ReferenceOpenHashSet<>());
+    }
+
+    protected ChunkHeightFiller(Map<BiomeExtension, BiomeNoiseSampler> biomeNoiseSamplers, Object2DoubleMap<BiomeExtension>[] sampledBiomeWeights, Object2DoubleMap<BiomeNoiseSampler> columnBiomeNoiseSamplers, Object2DoubleMap<BiomeExtension> biomeWeights1, Set<BiomeNoiseSampler> preparedBiomeNoiseSamplers)
     {
         this.biomeNoiseSamplers = biomeNoiseSamplers;
-        this.columnBiomeNoiseSamplers = new Object2DoubleOpenHashMap<>();
+        this.columnBiomeNoiseSamplers = columnBiomeNoiseSamplers;
         this.sampledBiomeWeights = sampledBiomeWeights;
-        this.biomeWeights1 = new Object2DoubleOpenHashMap<>();
+        this.biomeWeights1 = biomeWeights1;
+        this.preparedBiomeNoiseSamplers = preparedBiomeNoiseSamplers;
+    }
+
+    /**
+     * Prepares all biome noise samplers which may contribute to any column within the chunk, by sampling the entire chunk in a single batch.
+     * Only samplers for biomes present in the interior of the sampled biome weights (those used by {@link #prepareColumnBiomeWeights(int, int)}) are prepared.
+     *
+     * @param chunkMinX The minimum block X of the chunk.
+     * @param chunkMinZ The minimum block Z of the chunk.
+     */
+    public void prepareChunk(int chunkMinX, int chunkMinZ)
+    {
+        preparedBiomeNoiseSamplers.clear();
+        for (int x = 1; x <= 5; x++)
+        {
+            for (int z = 1; z <= 5; z++)
+            {
+                for (BiomeExtension biome : sampledBiomeWeights[x + z * 7].keySet())
+                {
+                    final BiomeNoiseSampler sampler = biomeNoiseSamplers.get(biome);
+                    if (preparedBiomeNoiseSamplers.add(sampler))
+                    {
+                        sampler.prepareChunk(chunkMinX, chunkMinZ);
+                    }
+                }
+            }
+        }
     }
 
     /**
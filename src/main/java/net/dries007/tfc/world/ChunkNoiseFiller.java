@@ -6,9 +6,7 @@
 
 package net.dries007.tfc.world;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 import net.minecraft.Util;
@@ -94,6 +92,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
     private final ChunkBaseBlockSource baseBlockSource;
     private final BiomeResolver biomeResolver;
 
+    private final ChunkNoiseWorkspace workspace;
     private final int[] surfaceHeight; // 16x16, block pos resolution
     private final Biome[] localBiomes; // 16x16, block pos resolution
     private final double[] localBiomeWeights; // 16x16, block pos resolution
@@ -104,9 +103,12 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
     private double cellDeltaX, cellDeltaZ; // Delta within a noise cell
     private int lastCellZ; // Last cell Z, needed due to a quick in noise interpolator
 
-    public ChunkNoiseFiller(LevelAccessor level, ProtoChunk chunk, Object2DoubleMap<BiomeExtension>[] sampledBiomeWeights, RiverSource riverSource, Map<BiomeExtension, BiomeNoiseSampler> biomeNoiseSamplers, BiomeResolver biomeResolver, NoiseSampler sampler, ChunkBaseBlockSource baseBlockSource, ChunkNoiseSamplingSettings settings, int seaLevel)
+    /**
+     * @param workspace The working buffers for this thread, which must have been {@link ChunkNoiseWorkspace#reset(ChunkNoiseSamplingSettings)} for this chunk, and have had the sampled biome weights populated.
+     */
+    public ChunkNoiseFiller(LevelAccessor level, ProtoChunk chunk, ChunkNoiseWorkspace workspace, RiverSource riverSource, BiomeResolver biomeResolver, NoiseSampler sampler, ChunkBaseBlockSource baseBlockSource, ChunkNoiseSamplingSettings settings, int seaLevel)
     {
-        super(biomeNoiseSamplers, sampledBiomeWeights);
+        super(workspace.biomeNoiseSamplers, workspace.sampledBiomeWeights, workspace.columnBiomeNoiseSamplers, workspace.biomeWeights1, workspace.preparedBiomeNoiseSamplers);
 
         this.level = level;
         this.chunk = chunk;
@@ -121,29 +123,30 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
 
         this.riverSource = riverSource;
         this.riverWater = TFCFluids.RIVER_WATER.get().defaultFluidState();
-        this.flows = buildFlowMap();
+        this.flows = buildFlowMap(workspace.flows);
 
         this.settings = settings;
-        this.interpolators = new ArrayList<>();
+        this.interpolators = workspace.interpolators;
         this.baseBlockSource = baseBlockSource;
 
         // Noise Caves
-        this.noiseCaves = addInterpolator(sampler.noiseCaves);
+        this.noiseCaves = workspace.noiseCaves;
 
         // Noodle Caves
-        this.noodleToggle = addInterpolator(sampler.noodleToggle);
-        this.noodleThickness = addInterpolator(sampler.noodleThickness);
-        this.noodleRidgeA = addInterpolator(sampler.noodleRidgeA);
-        this.noodleRidgeB = addInterpolator(sampler.noodleRidgeB);
+        this.noodleToggle = workspace.noodleToggle;
+        this.noodleThickness = workspace.noodleThickness;
+        this.noodleRidgeA = workspace.noodleRidgeA;
+        this.noodleRidgeB = workspace.noodleRidgeB;
 
         // Aquifer
         this.aquifer = new TFCAquifer(chunk.getPos(), settings, baseBlockSource, seaLevel, sampler.positionalRandomFactory, sampler.barrierNoise);
 
         this.biomeResolver = biomeResolver;
 
-        this.surfaceHeight = new int[16 * 16];
-        this.localBiomes = new Biome[16 * 16];
-        this.localBiomeWeights = new double[16 * 16];
+        this.workspace = workspace;
+        this.surfaceHeight = new int[16 * 16]; // Not reused, as this is kept by the chunk's rock data
+        this.localBiomes = workspace.localBiomes;
+        this.localBiomeWeights = workspace.localBiomeWeights;
     }
 
     public TFCAquifer aquifer()
@@ -165,7 +168,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         // At each position, we sample from a 5x5, at half chunk resolution (so a full chunk's distance away)
         // This requires sampling, in total, at half chunk resolution, from the (-2, -2) chunk to the (+3, +3) chunk, inclusive.
         // The total sampled area is 11x11
-        final double[] sampledHeight = new double[11 * 11];
+        final double[] sampledHeight = workspace.sampledAquiferHeight;
         final int[] aquiferSurfaceHeights = aquifer.getSurfaceHeights();
 
         for (int x = 0; x < 11; x++)
@@ -246,7 +249,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
      */
     public void fillFromNoise()
     {
-
+        prepareChunk(chunkMinX, chunkMinZ);
         initializeForFirstCellX();
         final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
         for (int cellX = 0; cellX < settings.cellCountXZ(); cellX++)
@@ -283,12 +286,12 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
      * Builds a 6x6, 4x4 resolution slope map for a chunk
      * This is enough to do basic linear interpolation for every point within the chunk.
      *
-     * @return A measure of how slope-y the chunk is. Values roughly in [0, 13), although technically can be >13
+     * @return A measure of how slope-y the chunk is. Values roughly in [0, 13), although technically can be >13. This array is reused for the next chunk filled by this thread.
      */
     @SuppressWarnings("PointlessArithmeticExpression")
     public double[] getSlopeMap()
     {
-        final int[] quartSurfaceHeight = new int[7 * 7]; // 7x7, quart pos resolution
+        final int[] quartSurfaceHeight = workspace.quartSurfaceHeight; // 7x7, quart pos resolution
 
         // Interior points - record from the existing positions in the chunk
         for (int x = 0; x < 4; x++)
@@ -313,7 +316,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
             quartSurfaceHeight[x + 7 * z] = (int) sampleColumnHeightAndBiome(sampledBiomeWeights[x + z * 7], blockX, blockZ, false);
         }
 
-        double[] slopeMap = new double[6 * 6];
+        final double[] slopeMap = workspace.slopeMap;
         for (int x = 0; x < 6; x++)
         {
             for (int z = 0; z < 6; z++)
@@ -499,9 +502,8 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         }
     }
 
-    private Flow[] buildFlowMap()
+    private Flow[] buildFlowMap(Flow[] flowMap)
     {
-        final Flow[] flowMap = new Flow[5 * 5];
         for (int x = 0; x < 5; x++)
         {
             for (int z = 0; z < 5; z++)
@@ -589,13 +591,6 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
 
     // Noise Interpolator helper methods
 
-    private TrilinearInterpolator addInterpolator(TrilinearInterpolator.Source source)
-    {
-        final TrilinearInterpolator interpolator = new TrilinearInterpolator(settings, source);
-        interpolators.add(interpolator);
-        return interpolator;
-    }
-
     private void initializeForFirstCellX()
     {
         interpolators.forEach(TrilinearInterpolator::initializeForFirstCellX);
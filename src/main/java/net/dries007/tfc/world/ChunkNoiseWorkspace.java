@@ -0,0 +1,104 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.dries007.tfc.world.biome.BiomeExtension;
+import net.dries007.tfc.world.noise.ChunkNoiseSamplingSettings;
+import net.dries007.tfc.world.noise.NoiseSampler;
+import net.dries007.tfc.world.noise.TrilinearInterpolator;
+import net.dries007.tfc.world.river.Flow;
+
+/**
+ * Reusable working buffers for a {@link ChunkNoiseFiller}. One of these is held per thread, per chunk generator, and is reset and reused for every chunk that thread fills, so the noise phase does not allocate in steady state.
+ * <p>
+ * Nothing in here may outlive the chunk it was used for. Anything which does (the surface height, and the aquifer) is still allocated per chunk.
+ */
+public final class ChunkNoiseWorkspace
+{
+    final Map<BiomeExtension, BiomeNoiseSampler> biomeNoiseSamplers;
+    final Object2DoubleMap<BiomeExtension>[] sampledBiomeWeights; // 7x7, quart pos resolution
+    final Object2DoubleMap<BiomeNoiseSampler> columnBiomeNoiseSamplers;
+    final Object2DoubleMap<BiomeExtension> biomeWeights1;
+    final Set<BiomeNoiseSampler> preparedBiomeNoiseSamplers;
+
+    final Biome[] localBiomes; // 16x16, block pos resolution
+    final double[] localBiomeWeights; // 16x16, block pos resolution
+    final Flow[] flows; // 5x5, quart pos resolution
+    final double[] sampledAquiferHeight; // 11x11, half chunk resolution
+    final int[] quartSurfaceHeight; // 7x7, quart pos resolution
+    final double[] slopeMap; // 6x6
+
+    final List<TrilinearInterpolator> interpolators;
+    final TrilinearInterpolator noiseCaves, noodleToggle, noodleThickness, noodleRidgeA, noodleRidgeB;
+
+    final Set<LevelChunkSection> sections; // Sections locked while filling
+
+    @SuppressWarnings("unchecked")
+    ChunkNoiseWorkspace(Map<BiomeExtension, BiomeNoiseSampler> biomeNoiseSamplers, NoiseSampler sampler)
+    {
+        this.biomeNoiseSamplers = biomeNoiseSamplers;
+        this.sampledBiomeWeights = (Object2DoubleMap<BiomeExtension>[]) new Object2DoubleMap[7 * 7];
+        for (int i = 0; i < sampledBiomeWeights.length; i++)
+        {
+            sampledBiomeWeights[i] = new Object2DoubleOpenHashMap<>();
+        }
+        this.columnBiomeNoiseSamplers = new Object2DoubleOpenHashMap<>();
+        this.biomeWeights1 = new Object2DoubleOpenHashMap<>();
+        this.preparedBiomeNoiseSamplers = new ReferenceOpenHashSet<>();
+
+        this.localBiomes = new Biome[16 * 16];
+        this.localBiomeWeights = new double[16 * 16];
+        this.flows = new Flow[5 * 5];
+        this.sampledAquiferHeight = new double[11 * 11];
+        this.quartSurfaceHeight = new int[7 * 7];
+        this.slopeMap = new double[6 * 6];
+
+        this.interpolators = new ArrayList<>();
+        this.noiseCaves = addInterpolator(sampler.noiseCaves);
+        this.noodleToggle = addInterpolator(sampler.noodleToggle);
+        this.noodleThickness = addInterpolator(sampler.noodleThickness);
+        this.noodleRidgeA = addInterpolator(sampler.noodleRidgeA);
+        this.noodleRidgeB = addInterpolator(sampler.noodleRidgeB);
+
+        this.sections = new HashSet<>();
+    }
+
+    /**
+     * Prepares this workspace to be used for a new chunk.
+     */
+    void reset(ChunkNoiseSamplingSettings settings)
+    {
+        for (BiomeNoiseSampler sampler : biomeNoiseSamplers.values())
+        {
+            sampler.clearChunk();
+        }
+        for (TrilinearInterpolator interpolator : interpolators)
+        {
+            interpolator.reset(settings);
+        }
+        sections.clear();
+    }
+
+    private TrilinearInterpolator addInterpolator(TrilinearInterpolator.Source source)
+    {
+        final TrilinearInterpolator interpolator = new TrilinearInterpolator(source);
+        interpolators.add(interpolator);
+        return interpolator;
+    }
+}
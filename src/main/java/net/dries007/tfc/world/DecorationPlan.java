@@ -0,0 +1,155 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.core.Registry;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.levelgen.GenerationStep;
+import net.minecraft.world.level.levelgen.feature.ConfiguredStructureFeature;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.dries007.tfc.world.biome.TFCBiomes;
+
+/**
+ * A precomputed plan for {@link TFCChunkGenerator#applyBiomeDecoration}.
+ * This is built once per set of registries, and contains the structure features per {@link GenerationStep.Decoration}, along with a lazily populated map of (set of adjacent biomes) -> (sorted feature indices per step).
+ * The decoration loop then only needs to collect the biome ids of the surrounding chunks, and iterate the precomputed indices.
+ */
+public final class DecorationPlan
+{
+    /**
+     * The maximum number of distinct adjacent biome sets which will be cached. Past this point, plans are computed but not retained.
+     * In practice, the number of distinct sets is small, as there are only so many biomes that can be adjacent to each other.
+     */
+    private static final int MAX_CACHED_BIOME_SETS = 8192;
+
+    private final Registry<ConfiguredStructureFeature<?, ?>> structureFeatures;
+    private final Registry<Biome> biomes;
+    private final List<BiomeSource.StepFeatureData> orderedFeatures;
+
+    private final List<ConfiguredStructureFeature<?, ?>>[] structureFeaturesByStep;
+    private final int steps;
+    private final Map<BitSet, int[][]> featureIndicesByBiomeSet;
+
+    @SuppressWarnings("unchecked")
+    public DecorationPlan(Registry<ConfiguredStructureFeature<?, ?>> structureFeatures, Registry<Biome> biomes, List<BiomeSource.StepFeatureData> orderedFeatures)
+    {
+        this.structureFeatures = structureFeatures;
+        this.biomes = biomes;
+        this.orderedFeatures = orderedFeatures;
+        this.steps = Math.max(TFCChunkGenerator.DECORATION_STEPS, orderedFeatures.size());
+        this.structureFeaturesByStep = (List<ConfiguredStructureFeature<?, ?>>[]) new List[steps];
+        this.featureIndicesByBiomeSet = new ConcurrentHashMap<>();
+
+        for (int step = 0; step < steps; step++)
+        {
+            structureFeaturesByStep[step] = new ArrayList<>();
+        }
+        for (ConfiguredStructureFeature<?, ?> feature : structureFeatures)
+        {
+            structureFeaturesByStep[feature.feature.step().ordinal()].add(feature);
+        }
+    }
+
+    /**
+     * @return {@code true} if this plan was built from the provided registries and features, and can be reused.
+     */
+    public boolean isValidFor(Registry<ConfiguredStructureFeature<?, ?>> structureFeatures, Registry<Biome> biomes, List<BiomeSource.StepFeatureData> orderedFeatures)
+    {
+        return this.structureFeatures == structureFeatures && this.biomes == biomes && this.orderedFeatures == orderedFeatures;
+    }
+
+    public int steps()
+    {
+        return steps;
+    }
+
+    public List<BiomeSource.StepFeatureData> orderedFeatures()
+    {
+        return orderedFeatures;
+    }
+
+    public Registry<ConfiguredStructureFeature<?, ?>> structureFeatures()
+    {
+        return structureFeatures;
+    }
+
+    public List<ConfiguredStructureFeature<?, ?>> structureFeaturesAtStep(int step)
+    {
+        return structureFeaturesByStep[step];
+    }
+
+    /**
+     * Marks a biome as present in a set of biome ids, to be used with {@link #featureIndices(LevelAccessor, BitSet)}.
+     */
+    public void addBiome(BitSet biomeSet, Biome biome)
+    {
+        biomeSet.set(biomes.getId(biome));
+    }
+
+    /**
+     * @param biomeSet A set of biome ids, built with {@link #addBiome(BitSet, Biome)}. Must not be modified after this call.
+     * @return An array, indexed by decoration step, of sorted feature indices into {@link BiomeSource.StepFeatureData#features()} for that step.
+     */
+    public int[][] featureIndices(LevelAccessor level, BitSet biomeSet)
+    {
+        int[][] indices = featureIndicesByBiomeSet.get(biomeSet);
+        if (indices == null)
+        {
+            indices = computeFeatureIndices(level, biomeSet);
+            if (featureIndicesByBiomeSet.size() < MAX_CACHED_BIOME_SETS)
+            {
+                featureIndicesByBiomeSet.putIfAbsent(biomeSet, indices);
+            }
+        }
+        return indices;
+    }
+
+    private int[][] computeFeatureIndices(LevelAccessor level, BitSet biomeSet)
+    {
+        final int[][] indices = new int[orderedFeatures.size()][];
+        for (int decorationIndex = 0; decorationIndex < orderedFeatures.size(); decorationIndex++)
+        {
+            final BiomeSource.StepFeatureData stepIndex = orderedFeatures.get(decorationIndex);
+            final IntSet featureIndices = new IntOpenHashSet();
+            for (int biomeId = biomeSet.nextSetBit(0); biomeId >= 0; biomeId = biomeSet.nextSetBit(biomeId + 1))
+            {
+                final Biome biome = biomes.byId(biomeId);
+                if (biome == null)
+                {
+                    continue;
+                }
+                final List<HolderSet<PlacedFeature>> featuresPerBiome = TFCBiomes.getExtensionOrThrow(level, biome).getFlattenedFeatures(biome);
+                if (decorationIndex < featuresPerBiome.size())
+                {
+                    for (Holder<PlacedFeature> holder : featuresPerBiome.get(decorationIndex))
+                    {
+                        featureIndices.add(stepIndex.indexMapping().applyAsInt(holder.value()));
+                    }
+                }
+            }
+
+            final int[] sortedIndices = featureIndices.toIntArray();
+            Arrays.sort(sortedIndices);
+            indices[decorationIndex] = sortedIndices;
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A concurrent (safe to read and write between multiple threads) positional based, lossy, cache, which does not use any locks.
+ * Avoids contention on a single global lock when used by many world generation threads.
+ * <p>
+ * Each slot holds an immutable key + value entry, which is published atomically, so a reader will always see a consistent pair. Writers may race, in which case one write will be lost, which is fine for a lossy cache.
+ * Optionally, the cache can be 2-way set associative: each key can occupy one of two adjacent slots, which reduces thrashing when two frequently used keys collide.
+ */
+public class LockFreeCache<T>
+{
+    private final AtomicReferenceArray<Entry<T>> entries;
+    private final int mask;
+    private final boolean associative;
+
+    /**
+     * @param size The minimum number of entries in the cache. Will be rounded up to a power of two.
+     */
+    public LockFreeCache(int size)
+    {
+        this(size, false);
+    }
+
+    /**
+     * @param size        The minimum number of entries in the cache. Will be rounded up to a power of two.
+     * @param associative If {@code true}, the cache will be 2-way set associative.
+     */
+    public LockFreeCache(int size, boolean associative)
+    {
+        size = Math.max(2, Mth.smallestEncompassingPowerOfTwo(size));
+
+        this.entries = new AtomicReferenceArray<>(size);
+        this.associative = associative;
+        this.mask = associative ? (size - 1) & ~1 : size - 1;
+    }
+
+    @Nullable
+    public T getIfPresent(int x, int z)
+    {
+        final long key = ChunkPos.asLong(x, z);
+        final int index = (int) HashCommon.mix(key) & mask;
+
+        Entry<T> entry = entries.getAcquire(index);
+        if (entry != null && entry.key == key)
+        {
+            return entry.value;
+        }
+        if (associative)
+        {
+            entry = entries.getAcquire(index + 1);
+            if (entry != null && entry.key == key)
+            {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    public void set(int x, int z, T value)
+    {
+        final long key = ChunkPos.asLong(x, z);
+        final int index = (int) HashCommon.mix(key) & mask;
+        final Entry<T> entry = new Entry<>(key, value);
+
+        if (associative)
+        {
+            // The first slot holds the most recently written entry, the second the one before it
+            final Entry<T> first = entries.getAcquire(index);
+            if (first != null && first.key != key)
+            {
+                entries.setRelease(index + 1, first);
+            }
+        }
+        entries.setRelease(index, entry);
+    }
+
+    record Entry<T>(long key, T value) {}
+}
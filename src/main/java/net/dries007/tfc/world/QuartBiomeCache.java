@@ -0,0 +1,68 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A shared, bounded, cache of biomes sampled at quart resolution. Biome sampling for a chunk (see {@code TFCChunkGenerator#sampleBiomes}) reads a wide area around the chunk, which mostly overlaps with that of adjacent chunks, and is repeated for height sampling, so it is worth sharing.
+ * <p>
+ * Quart positions are grouped into 16x16 tiles, which are cached in a {@link LockFreeCache}. Each tile is populated lazily, as positions within it are queried.
+ * Populating a position is racy, but as sampling is deterministic, the worst case is that two threads sample the same position, and write the same value.
+ * Values must be immutable (or at least, safely published), as they are read from other threads without synchronization.
+ */
+public class QuartBiomeCache<T>
+{
+    private static final int TILE_BITS = 4;
+    private static final int TILE_SIZE = 1 << TILE_BITS;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    private final Sampler<T> sampler;
+    private final LockFreeCache<Object[]> tiles;
+    private final LongAdder sampled;
+
+    /**
+     * @param sampler A sampler for biomes, in quart coordinates.
+     * @param size    The minimum number of tiles to cache.
+     */
+    public QuartBiomeCache(Sampler<T> sampler, int size)
+    {
+        this.sampler = sampler;
+        this.tiles = new LockFreeCache<>(size, true);
+        this.sampled = new LongAdder();
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int quartX, int quartZ)
+    {
+        final int tileX = quartX >> TILE_BITS, tileZ = quartZ >> TILE_BITS;
+        Object[] tile = tiles.getIfPresent(tileX, tileZ);
+        if (tile == null)
+        {
+            tile = new Object[TILE_SIZE * TILE_SIZE];
+            tiles.set(tileX, tileZ, tile);
+        }
+
+        final int index = (quartX & TILE_MASK) | ((quartZ & TILE_MASK) << TILE_BITS);
+        T value = (T) tile[index];
+        if (value == null)
+        {
+            sampled.increment();
+            value = sampler.get(quartX, quartZ);
+            tile[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return The number of times the underlying sampler has been queried, due to a cache miss.
+     */
+    public long sampled()
+    {
+        return sampled.sum();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * A {@link LockFreeCache} which, on a miss, only allows a single thread to compute the value for a given key.
+ * Any other threads which miss on the same key while it is being computed will wait for, and use, the same result, rather than duplicating the work.
+ * This is intended for values which are very expensive to compute, and likely to be requested by many threads at once, such as regions.
+ */
+public class SingleFlightCache<T>
+{
+    private final LockFreeCache<T> cache;
+    private final ConcurrentHashMap<Long, CompletableFuture<T>> inFlight;
+    private final LongAdder computed, deduplicated;
+
+    public SingleFlightCache(int size, boolean associative)
+    {
+        this.cache = new LockFreeCache<>(size, associative);
+        this.inFlight = new ConcurrentHashMap<>();
+        this.computed = new LongAdder();
+        this.deduplicated = new LongAdder();
+    }
+
+    public T getOrCreate(int x, int z, Supplier<T> factory)
+    {
+        final T value = cache.getIfPresent(x, z);
+        if (value != null)
+        {
+            return value;
+        }
+
+        final Long key = ChunkPos.asLong(x, z);
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final CompletableFuture<T> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null)
+        {
+            // Another thread is already computing this value, so wait for it
+            deduplicated.increment();
+            try
+            {
+                return existing.join();
+            }
+            catch (CompletionException e)
+            {
+                // The computing thread will have already thrown the original exception, so just compute it ourselves
+                return factory.get();
+            }
+        }
+
+        try
+        {
+            // Check the cache again, in case another thread completed, and removed its in-flight entry, between our first check and claiming this key
+            T result = cache.getIfPresent(x, z);
+            if (result == null)
+            {
+                computed.increment();
+                result = factory.get();
+                cache.set(x, z, result);
+            }
+            future.complete(result);
+            return result;
+        }
+        catch (Throwable t)
+        {
+            future.completeExceptionally(t);
+            throw t;
+        }
+        finally
+        {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @return The number of values which were computed due to a cache miss.
+     */
+    public long computed()
+    {
+        return computed.sum();
+    }
+
+    /**
+     * @return The number of cache misses which waited on another thread's computation instead of computing the value themselves.
+     */
+    public long deduplicated()
+    {
+        return deduplicated.sum();
+    }
+}
@@ -6,9 +6,8 @@
 
 package net.dries007.tfc.world;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,25 +15,23 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
-import java.util.stream.Collectors;
 import com.google.common.collect.ImmutableMap;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
-import it.unimi.dsi.fastutil.ints.IntArraySet;
-import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
 import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArraySet;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.minecraft.CrashReport;
 import net.minecraft.ReportedException;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
-import net.minecraft.core.HolderSet;
 import net.minecraft.core.QuartPos;
 import net.minecraft.core.Registry;
 import net.minecraft.core.RegistryAccess;
@@ -97,6 +94,7 @@ import net.dries007.tfc.world.noise.ChunkNoiseSamplingSettings;
 import net.dries007.tfc.world.noise.Kernel;
 import net.dries007.tfc.world.noise.NoiseSampler;
 import net.dries007.tfc.world.surface.SurfaceManager;
+import org.jetbrains.annotations.Nullable;
 
 import static net.dries007.tfc.TerraFirmaCraft.*;
 
@@ -124,6 +122,15 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
     public static final Kernel KERNEL_9x9 = Kernel.create((x, z) -> 0.0211640211641D * (1 - 0.03125D * (z * z + x * x)), 4);
     public static final Kernel KERNEL_5x5 = Kernel.create((x, z) -> 0.08D * (1 - 0.125D * (z * z + x * x)), 2);
 
+    private static final ThreadLocal<Object2DoubleMap<Object>[]> SCRATCH_WEIGHTS = ThreadLocal.withInitial(() -> {
+        final Object2DoubleMap<Object>[] weights = newWeightArray(4 * 4 + 2);
+        for (int i = 0; i < weights.length; i++)
+        {
+            weights[i] = new Object2DoubleOpenHashMap<>();
+        }
+        return weights;
+    });
+
     /**
      * Composes two levels of sampled weights. It takes two maps of two different resolutions, and re-weights the higher resolution one by replacing specific groups of samples with the respective weights from the lower resolution map.
      * Each element of the higher resolution map is replaced with a proportional average of the same group which is present in the lower resolution map.
@@ -217,25 +224,40 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
      * @return A 7x7 array of sampled biome weights, at quart pos resolution, where the (0, 0) index aligns to the (-1, -1) quart position relative to the target chunk.
      */
     private static <T> Object2DoubleMap<T>[] sampleBiomes(ChunkPos pos, Sampler<T> biomeSampler, Function<T, BiomeExtension.Group> groupFunction)
+    {
+        final Object2DoubleMap<T>[] quartBiomeWeightArray = newWeightArray(7 * 7);
+        for (int i = 0; i < quartBiomeWeightArray.length; i++)
+        {
+            quartBiomeWeightArray[i] = new Object2DoubleOpenHashMap<>();
+        }
+        sampleBiomes(pos, biomeSampler, groupFunction, quartBiomeWeightArray);
+        return quartBiomeWeightArray;
+    }
+
+    /**
+     * As {@link #sampleBiomes(ChunkPos, Sampler, Function)}, but writes into an existing 7x7 array of weight maps, which are cleared first.
+     */
+    private static <T> void sampleBiomes(ChunkPos pos, Sampler<T> biomeSampler, Function<T, BiomeExtension.Group> groupFunction, Object2DoubleMap<T>[] quartBiomeWeightArray)
     {
         // First, sample biomes at chunk distance, in a 4x4 grid centered on the target chunk.
         // These are used to build the large-scale biome blending radius
-        final Object2DoubleMap<T>[] chunkBiomeWeightArray = newWeightArray(4 * 4);
+        // The chunk weights, and intermediate weights, are only used within this method, so they are reused per thread
+        final Object2DoubleMap<T>[] scratchWeights = scratchWeightArray();
+        final Object2DoubleMap<T>[] chunkBiomeWeightArray = scratchWeights;
         final int chunkX = pos.getMinBlockX(), chunkZ = pos.getMinBlockZ(); // Block coordinates
         for (int x = 0; x < 4; x++)
         {
             for (int z = 0; z < 4; z++)
             {
                 // x, z = 0, 0 is the -1, -1 chunk relative to chunkX, chunkZ
-                final Object2DoubleMap<T> chunkBiomeWeight = new Object2DoubleOpenHashMap<>();
-                chunkBiomeWeightArray[x | (z << 2)] = chunkBiomeWeight;
+                final Object2DoubleMap<T> chunkBiomeWeight = chunkBiomeWeightArray[x | (z << 2)];
+                chunkBiomeWeight.clear();
                 sampleBiomesAtPositionWithKernel(chunkBiomeWeight, biomeSampler, KERNEL_9x9, 4, chunkX, chunkZ, x - 1, z - 1);
             }
         }
 
         // A 7x7 grid, in quart positions relative to the target chunk, where (1, 1) is the target chunk origin.
-        final Object2DoubleMap<T>[] quartBiomeWeightArray = newWeightArray(7 * 7);
-        final Object2DoubleMap<T> chunkBiomeWeight = new Object2DoubleOpenHashMap<>(), wideQuartBiomeWeight = new Object2DoubleOpenHashMap<>();
+        final Object2DoubleMap<T> chunkBiomeWeight = scratchWeights[4 * 4], wideQuartBiomeWeight = scratchWeights[4 * 4 + 1];
 
         for (int x = 0; x < 7; x++)
         {
@@ -272,18 +294,16 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
                 }, BiomeExtension.Group.SIZE);
 
                 // Same as wideQuartBiomeWeight, but only with a sample radius of 2, rather than 4
-                final Object2DoubleMap<T> quartBiomeWeight = new Object2DoubleOpenHashMap<>();
+                final Object2DoubleMap<T> quartBiomeWeight = quartBiomeWeightArray[x + 7 * z];
+                quartBiomeWeight.clear();
                 sampleBiomesAtPositionWithKernel(quartBiomeWeight, biomeSampler, KERNEL_5x5, 2, chunkX, chunkZ, x - 1, z - 1);
 
                 composeSampleWeights(quartBiomeWeight, wideQuartBiomeWeight, biome -> {
                     final BiomeExtension.Group group = groupFunction.apply(biome);
                     return group == BiomeExtension.Group.RIVER ? 1 : 0;
                 }, 2);
-
-                quartBiomeWeightArray[x + 7 * z] = quartBiomeWeight;
             }
         }
-        return quartBiomeWeightArray;
     }
 
     private static <T> void sampleBiomesAtPositionWithKernel(Object2DoubleMap<T> weights, Sampler<T> biomeSampler, Kernel kernel, int kernelBits, int chunkX, int chunkZ, int xOffsetInKernelBits, int zOffsetInKernelBits)
@@ -303,6 +323,15 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         }
     }
 
+    /**
+     * @return A per-thread array of 4x4 chunk weights, followed by two additional weight maps, for use by {@link #sampleBiomes(ChunkPos, Sampler, Function)}. These must be cleared before use.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Object2DoubleMap<T>[] scratchWeightArray()
+    {
+        return (Object2DoubleMap<T>[]) (Object2DoubleMap<?>[]) SCRATCH_WEIGHTS.get();
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Object2DoubleMap<T>[] newWeightArray(int size)
     {
@@ -318,7 +347,12 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
     private final long seed;
 
     private final NoiseBasedChunkGenerator stupidMojangChunkGenerator; // Mojang fix your god awful deprecated carver nonsense
-    private final FastConcurrentCache<TFCAquifer> aquiferCache;
+    private final LockFreeCache<TFCAquifer> aquiferCache;
+    private final LockFreeCache<int[]> surfaceHeightCache; // 16x16 surface heights per chunk, block pos resolution
+    private final LongAdder surfaceHeightCacheHits, surfaceHeightCacheMisses;
+    private final QuartBiomeCache<BiomeExtension> biomeCache; // Biome variants, at quart pos resolution
+    private final LockFreeCache<CarverStarts> carverStartsCache; // Carvers which start in each chunk, for applyCarvers()
+    private final ThreadLocal<ChunkNoiseWorkspace> noiseWorkspace; // Reused working buffers for fillFromNoise()
 
     private final Map<BiomeExtension, Supplier<BiomeNoiseSampler>> biomeNoiseSamplers;
     private final ChunkDataProvider chunkDataProvider;
@@ -326,6 +360,9 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
     private final NoiseSampler noiseSampler;
     private final boolean hasStructures;
 
+    @Nullable
+    private volatile DecorationPlan decorationPlan; // Lazily built from the registries of the first level we decorate
+
     public TFCChunkGenerator(Registry<StructureSet> structures, Registry<NormalNoise.NoiseParameters> parameters, TFCBiomeSource biomeSource, Holder<NoiseGeneratorSettings> settings, boolean flatBedrock, long seed)
     {
         super(structures, Optional.empty(), biomeSource);
@@ -337,12 +374,18 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         this.seed = seed;
 
         this.stupidMojangChunkGenerator = new NoiseBasedChunkGenerator(structures, parameters, biomeSource, seed, settings);
-        this.aquiferCache = new FastConcurrentCache<>(256);
+        this.aquiferCache = new LockFreeCache<>(256);
+        this.surfaceHeightCache = new LockFreeCache<>(1024, true);
+        this.surfaceHeightCacheHits = new LongAdder();
+        this.surfaceHeightCacheMisses = new LongAdder();
+        this.biomeCache = new QuartBiomeCache<>(biomeSource::getNoiseBiomeVariants, 1024);
+        this.carverStartsCache = new LockFreeCache<>(2048, true);
 
         this.biomeNoiseSamplers = collectBiomeNoiseSamplers(seed);
         this.chunkDataProvider = customBiomeSource.getChunkDataProvider();
         this.surfaceManager = new SurfaceManager(seed);
         this.noiseSampler = new NoiseSampler(this.settings.value().noiseSettings(), seed, parameters);
+        this.noiseWorkspace = ThreadLocal.withInitial(() -> new ChunkNoiseWorkspace(createBiomeSamplersForChunk(), noiseSampler));
         this.hasStructures = structures.size() > 0;
     }
 
@@ -420,33 +463,62 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         {
             for (int offsetZ = -8; offsetZ <= 8; ++offsetZ)
             {
-                final ChunkPos offsetChunkPos = new ChunkPos(chunkPos.x + offsetX, chunkPos.z + offsetZ);
-                final ChunkAccess offsetChunk = level.getChunk(offsetChunkPos.x, offsetChunkPos.z);
-
-                @SuppressWarnings("deprecation")
-                final Iterable<Holder<ConfiguredWorldCarver<?>>> iterable = offsetChunk
-                    .carverBiome(() -> customBiomeSource.getNoiseBiome(QuartPos.fromBlock(offsetChunkPos.getMinBlockX()), QuartPos.fromBlock(offsetChunkPos.getMinBlockZ())))
-                    .value()
-                    .getGenerationSettings()
-                    .getCarvers(step);
-
-                int i = 1;
-                for (Holder<ConfiguredWorldCarver<?>> holder : iterable)
+                final int offsetChunkX = chunkPos.x + offsetX, offsetChunkZ = chunkPos.z + offsetZ;
+                final CarverStarts starts = getCarverStarts(fork, random, seed, offsetChunkX, offsetChunkZ);
+                if (starts.carvers.length == 0)
                 {
-                    final long chunkSeed = fork.at(offsetChunkPos.x, i, offsetChunkPos.z).nextLong();
+                    continue;
+                }
 
-                    random.setSeed(chunkSeed);
-                    final ConfiguredWorldCarver<?> carver = holder.value();
-                    if (carver.isStartChunk(random))
-                    {
-                        carver.carve(context, chunk, customBiomeManager::getBiome, random, aquifer, offsetChunkPos, carvingMask);
-                    }
-                    i++;
+                final ChunkPos offsetChunkPos = new ChunkPos(offsetChunkX, offsetChunkZ);
+                for (int i = 0; i < starts.carvers.length; i++)
+                {
+                    final ConfiguredWorldCarver<?> carver = starts.carvers[i];
+
+                    random.setSeed(fork.at(offsetChunkX, starts.indices[i], offsetChunkZ).nextLong());
+                    carver.isStartChunk(random); // Known to be true, but advances the random as it was before carving
+                    carver.carve(context, chunk, customBiomeManager::getBiome, random, aquifer, offsetChunkPos, carvingMask);
                 }
             }
         }
     }
 
+    /**
+     * Every chunk checks which carvers start in each chunk in a 17x17 area around itself, and almost all of them do not start any, so the result of that check is cached per chunk.
+     * This assumes, as {@link #applyCarvers} does, that the carvers of a chunk are those of the biome without climate at its minimum corner.
+     */
+    private CarverStarts getCarverStarts(PositionalRandomFactory fork, Random random, long seed, int chunkX, int chunkZ)
+    {
+        final CarverStarts cached = carverStartsCache.getIfPresent(chunkX, chunkZ);
+        if (cached != null && cached.seed == seed)
+        {
+            return cached;
+        }
+
+        final Iterable<Holder<ConfiguredWorldCarver<?>>> carvers = customBiomeSource.getNoiseBiome(QuartPos.fromSection(chunkX), QuartPos.fromSection(chunkZ))
+            .value()
+            .getGenerationSettings()
+            .getCarvers(GenerationStep.Carving.AIR);
+
+        final List<ConfiguredWorldCarver<?>> startedCarvers = new ArrayList<>();
+        final IntList startedIndices = new IntArrayList();
+        int i = 1;
+        for (Holder<ConfiguredWorldCarver<?>> holder : carvers)
+        {
+            random.setSeed(fork.at(chunkX, i, chunkZ).nextLong());
+            if (holder.value().isStartChunk(random))
+            {
+                startedCarvers.add(holder.value());
+                startedIndices.add(i);
+            }
+            i++;
+        }
+
+        final CarverStarts starts = new CarverStarts(seed, startedCarvers.toArray(new ConfiguredWorldCarver<?>[0]), startedIndices.toIntArray());
+        carverStartsCache.set(chunkX, chunkZ, starts);
+        return starts;
+    }
+
     @Override
     public void buildSurface(WorldGenRegion level, StructureFeatureManager structureFeatureManager, ChunkAccess chunk)
     {
@@ -499,31 +571,30 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         final SectionPos sectionPos = SectionPos.of(chunkPos, level.getMinSection());
         final BlockPos originPos = sectionPos.origin();
 
-        final Registry<ConfiguredStructureFeature<?, ?>> structureFeatures = level.registryAccess().registryOrThrow(Registry.CONFIGURED_STRUCTURE_FEATURE_REGISTRY);
+        final DecorationPlan plan = getOrCreateDecorationPlan(level);
+        final Registry<ConfiguredStructureFeature<?, ?>> structureFeatures = plan.structureFeatures();
         final Registry<PlacedFeature> placedFeatures = level.registryAccess().registryOrThrow(Registry.PLACED_FEATURE_REGISTRY);
 
-        final Map<Integer, List<ConfiguredStructureFeature<?, ?>>> structureFeaturesByStep = structureFeatures.stream()
-            .collect(Collectors.groupingBy(feature -> feature.feature.step().ordinal()));
-
-        final List<BiomeSource.StepFeatureData> orderedFeatures = customBiomeSource.featuresPerStep();
+        final List<BiomeSource.StepFeatureData> orderedFeatures = plan.orderedFeatures();
         final long baseSeed = Helpers.hash(128739412341L, originPos);
         final Random random = new WorldgenRandom(new XoroshiroRandomSource(baseSeed));
 
-        final Set<Biome> allAdjacentBiomes = new ObjectArraySet<>();
+        final BitSet allAdjacentBiomes = new BitSet();
         ChunkPos.rangeClosed(sectionPos.chunk(), 1).forEach((chunkPos1_) -> {
             final ChunkAccess adjChunk = level.getChunk(chunkPos1_.x, chunkPos1_.z);
             for (LevelChunkSection adjSection : adjChunk.getSections())
             {
-                adjSection.getBiomes().getAll(biome -> allAdjacentBiomes.add(biome.value()));
+                adjSection.getBiomes().getAll(biome -> plan.addBiome(allAdjacentBiomes, biome.value()));
             }
         });
 
-        for (int decorationIndex = 0; decorationIndex < Math.max(DECORATION_STEPS, orderedFeatures.size()); ++decorationIndex)
+        final int[][] featureIndicesByStep = plan.featureIndices(level, allAdjacentBiomes);
+        for (int decorationIndex = 0; decorationIndex < plan.steps(); ++decorationIndex)
         {
             if (structureFeatureManager.shouldGenerateFeatures())
             {
                 int featureIndex = 0;
-                for (ConfiguredStructureFeature<?, ?> feature : structureFeaturesByStep.getOrDefault(decorationIndex, Collections.emptyList()))
+                for (ConfiguredStructureFeature<?, ?> feature : plan.structureFeaturesAtStep(decorationIndex))
                 {
                     Helpers.seedLargeFeatures(random, baseSeed, featureIndex, decorationIndex);
 
@@ -546,26 +617,8 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
 
             if (decorationIndex < orderedFeatures.size())
             {
-                final IntSet featureIndices = new IntArraySet();
-                for (Biome biome : allAdjacentBiomes)
-                {
-                    List<HolderSet<PlacedFeature>> featuresPerBiome = TFCBiomes.getExtensionOrThrow(level, biome).getFlattenedFeatures(biome);
-                    if (decorationIndex < featuresPerBiome.size())
-                    {
-                        final HolderSet<PlacedFeature> featuresPerBiomeAtStep = featuresPerBiome.get(decorationIndex);
-                        final BiomeSource.StepFeatureData stepIndex = orderedFeatures.get(decorationIndex);
-                        for (Holder<PlacedFeature> holder : featuresPerBiomeAtStep)
-                        {
-                            featureIndices.add(stepIndex.indexMapping().applyAsInt(holder.value()));
-                        }
-                    }
-                }
-
-                final int[] sortedIndices = featureIndices.toIntArray();
                 final BiomeSource.StepFeatureData step = orderedFeatures.get(decorationIndex);
-
-                Arrays.sort(sortedIndices);
-                for (int featureIndex : sortedIndices)
+                for (int featureIndex : featureIndicesByStep[decorationIndex])
                 {
                     final PlacedFeature feature = step.features().get(featureIndex);
                     Helpers.seedLargeFeatures(random, baseSeed, featureIndex, decorationIndex);
@@ -598,17 +651,20 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         final ChunkData chunkData = chunkDataProvider.get(chunk);
         final RockData rockData = chunkData.getRockData();
 
+        final ChunkNoiseWorkspace workspace = noiseWorkspace.get();
+        workspace.reset(settings);
+
         // Lock sections
-        final Set<LevelChunkSection> sections = new HashSet<>();
+        final Set<LevelChunkSection> sections = workspace.sections;
         for (LevelChunkSection section : chunk.getSections())
         {
             section.acquire();
             sections.add(section);
         }
 
-        final Object2DoubleMap<BiomeExtension>[] biomeWeights = sampleBiomes(chunkPos, this::sampleBiomeVariants, BiomeExtension::getGroup);
+        sampleBiomes(chunkPos, this::sampleBiomeVariants, BiomeExtension::getGroup, workspace.sampledBiomeWeights);
         final ChunkBaseBlockSource baseBlockSource = createBaseBlockSourceForChunk(chunk);
-        final ChunkNoiseFiller filler = new ChunkNoiseFiller(actualLevel, (ProtoChunk) chunk, biomeWeights, customBiomeSource, createBiomeSamplersForChunk(), customBiomeSource::getBiome, noiseSampler, baseBlockSource, settings, getSeaLevel());
+        final ChunkNoiseFiller filler = new ChunkNoiseFiller(actualLevel, (ProtoChunk) chunk, workspace, customBiomeSource, customBiomeSource::getBiome, noiseSampler, baseBlockSource, settings, getSeaLevel());
 
         filler.setupAquiferSurfaceHeight(this::sampleBiomeVariants);
         chunkData.setAquiferSurfaceHeight(filler.aquifer().getSurfaceHeights()); // Record this in the chunk data so caves can query it accurately
@@ -616,9 +672,11 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         filler.fillFromNoise();
 
         aquiferCache.set(chunkPos.x, chunkPos.z, filler.aquifer());
+        surfaceHeightCache.set(chunkPos.x, chunkPos.z, filler.getSurfaceHeight()); // Shared with the rock data, but neither modify it after this point
 
         // Unlock before surfaces are built, as they use locks directly
         sections.forEach(LevelChunkSection::release);
+        sections.clear();
 
         surfaceManager.buildSurface(actualLevel, chunk, getRockLayerSettings(), chunkData, filler.getLocalBiomes(), filler.getLocalBiomeWeights(), filler.getSlopeMap(), random, getSeaLevel(), settings.minY());
 
@@ -640,14 +698,39 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
     @Override
     public int getBaseHeight(int x, int z, Heightmap.Types type, LevelHeightAccessor level)
     {
-        final ChunkPos pos = new ChunkPos(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
-        return (int) createHeightFillerForChunk(pos).sampleHeight(x, z);
+        return getOrCreateSurfaceHeight(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z))[(x & 15) + 16 * (z & 15)];
     }
 
     @Override
     public NoiseColumn getBaseColumn(int x, int z, LevelHeightAccessor level)
     {
-        return new NoiseColumn(0, new BlockState[0]);
+        // An approximation of the terrain, using only the surface height: solid below, fluid below sea level, and air above
+        final int surfaceHeight = getOrCreateSurfaceHeight(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z))[(x & 15) + 16 * (z & 15)];
+        final int minY = level.getMinBuildHeight();
+        final BlockState[] states = new BlockState[level.getHeight()];
+        final BlockState solid = settings.value().defaultBlock(), fluid = settings.value().defaultFluid(), air = Blocks.AIR.defaultBlockState();
+        for (int i = 0; i < states.length; i++)
+        {
+            final int y = minY + i;
+            states[i] = y <= surfaceHeight ? solid : (y < getSeaLevel() ? fluid : air);
+        }
+        return new NoiseColumn(minY, states);
+    }
+
+    /**
+     * @return The number of {@link #getBaseHeight(int, int, Heightmap.Types, LevelHeightAccessor)} and {@link #getBaseColumn(int, int, LevelHeightAccessor)} queries which were served from the surface height cache.
+     */
+    public long getSurfaceHeightCacheHits()
+    {
+        return surfaceHeightCacheHits.sum();
+    }
+
+    /**
+     * @return The number of queries which had to sample the surface height of a chunk, as it was not present in the cache.
+     */
+    public long getSurfaceHeightCacheMisses()
+    {
+        return surfaceHeightCacheMisses.sum();
     }
 
     @Override
@@ -702,7 +785,15 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
 
     private BiomeExtension sampleBiomeVariants(int blockX, int blockZ)
     {
-        return customBiomeSource.getNoiseBiomeVariants(QuartPos.fromBlock(blockX), QuartPos.fromBlock(blockZ));
+        return biomeCache.get(QuartPos.fromBlock(blockX), QuartPos.fromBlock(blockZ));
+    }
+
+    /**
+     * @return The number of biomes which have been sampled from the biome source, i.e. which missed the shared biome cache.
+     */
+    public long getBiomeSampleCount()
+    {
+        return biomeCache.sampled();
     }
 
     public ChunkHeightFiller createHeightFillerForChunk(ChunkPos pos)
@@ -711,6 +802,56 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         return new ChunkHeightFiller(createBiomeSamplersForChunk(), biomeWeights);
     }
 
+    /**
+     * Gets the 16x16 surface height of a chunk, which is either recorded during {@link #fillFromNoise(Executor, Blender, StructureFeatureManager, ChunkAccess)}, or sampled on demand.
+     * Sampling a single column still requires sampling biomes for the whole chunk, so once we do that, we sample every column in the chunk.
+     */
+    private int[] getOrCreateSurfaceHeight(int chunkX, int chunkZ)
+    {
+        int[] surfaceHeight = surfaceHeightCache.getIfPresent(chunkX, chunkZ);
+        if (surfaceHeight == null)
+        {
+            surfaceHeightCacheMisses.increment();
+
+            final ChunkHeightFiller filler = createHeightFillerForChunk(new ChunkPos(chunkX, chunkZ));
+            final int minX = SectionPos.sectionToBlockCoord(chunkX), minZ = SectionPos.sectionToBlockCoord(chunkZ);
+
+            filler.prepareChunk(minX, minZ);
+            surfaceHeight = new int[16 * 16];
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    surfaceHeight[x + 16 * z] = (int) filler.sampleHeight(minX + x, minZ + z);
+                }
+            }
+            surfaceHeightCache.set(chunkX, chunkZ, surfaceHeight);
+        }
+        else
+        {
+            surfaceHeightCacheHits.increment();
+        }
+        return surfaceHeight;
+    }
+
+    /**
+     * The decoration plan only depends on the registries and the features per step, which do not change for the lifetime of a server, so it only needs to be rebuilt if those change.
+     */
+    private DecorationPlan getOrCreateDecorationPlan(WorldGenLevel level)
+    {
+        final Registry<ConfiguredStructureFeature<?, ?>> structureFeatures = level.registryAccess().registryOrThrow(Registry.CONFIGURED_STRUCTURE_FEATURE_REGISTRY);
+        final Registry<Biome> biomes = level.registryAccess().registryOrThrow(Registry.BIOME_REGISTRY);
+        final List<BiomeSource.StepFeatureData> orderedFeatures = customBiomeSource.featuresPerStep();
+
+        DecorationPlan plan = decorationPlan;
+        if (plan == null || !plan.isValidFor(structureFeatures, biomes, orderedFeatures))
+        {
+            plan = new DecorationPlan(structureFeatures, biomes, orderedFeatures);
+            decorationPlan = plan;
+        }
+        return plan;
+    }
+
     private ChunkBaseBlockSource createBaseBlockSourceForChunk(ChunkAccess chunk)
     {
         final RockData rockData = chunkDataProvider.get(chunk).getRockData();
@@ -767,4 +908,9 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         }
         return aquifer;
     }
-}
\ No newline at end of file
+
+    /**
+     * The carvers which start in a chunk, and their (one based) index in the biome's carvers, which is used to seed the carver.
+     */
+    private record CarverStarts(long seed, ConfiguredWorldCarver<?>[] carvers, int[] indices) {}
+}
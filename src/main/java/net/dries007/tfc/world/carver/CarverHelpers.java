@@ -25,6 +25,7 @@ import net.minecraft.world.level.material.Fluids;
 import net.dries007.tfc.common.TFCTags;
 import net.dries007.tfc.common.blocks.soil.IDirtBlock;
 import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.world.TFCAquifer;
 
 public final class CarverHelpers
 {
@@ -69,7 +70,16 @@ public final class CarverHelpers
         }
         else
         {
-            final BlockState carveState = aquifer.computeSubstance(new DensityFunction.SinglePointContext(pos.getX(), pos.getY(), pos.getZ()) , 0);
+            final BlockState carveState;
+            if (aquifer instanceof TFCAquifer tfcAquifer)
+            {
+                // Sample directly, without allocating a context for every carved block
+                carveState = tfcAquifer.sampleState(pos.getX(), pos.getY(), pos.getZ(), 0);
+            }
+            else
+            {
+                carveState = aquifer.computeSubstance(new DensityFunction.SinglePointContext(pos.getX(), pos.getY(), pos.getZ()), 0);
+            }
             if (carveState == null)
             {
                 return isDebugEnabled(config) ? config.debugSettings.getBarrierState() : null;
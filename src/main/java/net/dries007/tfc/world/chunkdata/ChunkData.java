@@ -10,6 +10,7 @@ import java.util.Objects;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.world.level.ChunkPos;
@@ -34,20 +35,29 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
 
     public static ChunkData get(LevelReader level, BlockPos pos)
     {
-        return get(level, new ChunkPos(pos));
+        return get(level, SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
     }
 
     /**
      * Called to get chunk data when a world context is available.
      */
-    @SuppressWarnings("deprecation")
     public static ChunkData get(LevelReader level, ChunkPos pos)
     {
-        // Query cache first, picking the correct cache for the current logical side
-        ChunkData data = ChunkDataCache.get(level).get(pos);
+        return get(level, pos.x, pos.z);
+    }
+
+    /**
+     * Called to get chunk data when a world context is available, by chunk coordinates. This does not allocate if the chunk data is present in the cache.
+     */
+    @SuppressWarnings("deprecation")
+    public static ChunkData get(LevelReader level, int chunkX, int chunkZ)
+    {
+        // Query cache first, picking the correct cache for the current logical side and dimension
+        final ChunkDataCache cache = ChunkDataCache.get(level);
+        final ChunkData data = cache != null ? cache.get(chunkX, chunkZ) : null;
         if (data == null)
         {
-            return getCapability(level.hasChunk(pos.x, pos.z) ? level.getChunk(pos.getWorldPosition()) : null).orElse(ChunkData.EMPTY);
+            return getCapability(level.hasChunk(chunkX, chunkZ) ? level.getChunk(chunkX, chunkZ) : null).orElse(ChunkData.EMPTY);
         }
         return data;
     }
@@ -129,7 +139,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
 
     public float getRainfall(int x, int z)
     {
-        return rainfallLayer == null ? UNKNOWN_RAINFALL : rainfallLayer.getValue((z & 15) / 16f, 1 - ((x & 15) / 16f));
+        return rainfallLayer == null ? UNKNOWN_RAINFALL : rainfallLayer.getValue(x, z);
     }
 
     public void setRainfall(LerpFloatLayer rainfallLayer)
@@ -144,7 +154,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
 
     public float getAverageTemp(int x, int z)
     {
-        return temperatureLayer == null ? UNKNOWN_TEMPERATURE : temperatureLayer.getValue((z & 15) / 16f, 1 - ((x & 15) / 16f));
+        return temperatureLayer == null ? UNKNOWN_TEMPERATURE : temperatureLayer.getValue(x, z);
     }
 
     public void setAverageTemp(LerpFloatLayer temperatureLayer)
@@ -10,21 +10,31 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Function;
 
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
 import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelReader;
-import net.minecraftforge.network.PacketDistributor;
+import net.minecraft.world.level.ServerLevelAccessor;
 
-import net.dries007.tfc.network.PacketHandler;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.dries007.tfc.network.ChunkDataBatchPacket;
 import net.dries007.tfc.util.Helpers;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Sided cache of chunk data instances, for when a world context is unavailable.
  * Automatically synchronized on chunk watch / unwatch events, and updated on chunk load and unload.
- * This is only valid in the overworld.
+ * <p>
+ * On server, there is one cache per dimension. On client, there is a single cache, for the current level, which is cleared when that level is unloaded.
+ * Each cache is an open addressing map keyed by {@link ChunkPos#asLong(int, int)}. It is only modified from the owning side's main thread, but may be read from any thread (i.e. world generation, or chunk meshing), and reads are lock free unless they race with a write.
  */
 public final class ChunkDataCache
 {
@@ -35,54 +45,180 @@ public final class ChunkDataCache
     public static final ChunkDataCache CLIENT = new ChunkDataCache("client");
 
     /**
-     * This is a cache of server side chunk data.
-     * It is not synced, it is updated on chunk load / unload
+     * These are caches of server side chunk data, per dimension.
+     * They are not synced, and are updated on chunk load / unload
      */
-    public static final ChunkDataCache SERVER = new ChunkDataCache("server");
+    private static final Map<ResourceKey<Level>, ChunkDataCache> SERVER = new ConcurrentHashMap<>();
 
     /**
-     * This is a set of chunk positions which have been queued for chunk watch, but were not loaded or generated at the time.
+     * This is a set of chunk positions, per dimension, which have been queued for chunk watch, but were not loaded or generated at the time.
      * As a result, no data was able to be sent to the client cache. In these situations, we wait for chunk load on server, and if the chunk is present here, it is re-synchronized.
      */
     public static final WatchQueue WATCH_QUEUE = new WatchQueue();
 
+    private static final int INITIAL_CAPACITY = 1024;
+
     /**
-     * Gets the normal (not world gen) cache of chunk data for the current logical side
+     * Gets the normal (not world gen) cache of chunk data for the current logical side, and dimension.
+     *
+     * @return The cache, or {@code null} if the level is not associated with a known dimension.
      */
-    public static ChunkDataCache get(LevelReader world)
+    @Nullable
+    public static ChunkDataCache get(LevelReader level)
+    {
+        if (Helpers.isClientSide(level))
+        {
+            return CLIENT;
+        }
+        if (level instanceof Level actualLevel)
+        {
+            return getServer(actualLevel.dimension());
+        }
+        if (level instanceof ServerLevelAccessor accessor)
+        {
+            return getServer(accessor.getLevel().dimension());
+        }
+        return null;
+    }
+
+    /**
+     * Called when a level is unloaded, to discard its cache.
+     */
+    public static void onLevelUnload(LevelReader level)
+    {
+        if (Helpers.isClientSide(level))
+        {
+            CLIENT.clear();
+        }
+        else if (level instanceof Level actualLevel)
+        {
+            SERVER.remove(actualLevel.dimension());
+            WATCH_QUEUE.clear(actualLevel.dimension());
+        }
+    }
+
+    private static ChunkDataCache getServer(ResourceKey<Level> dimension)
     {
-        return Helpers.isClientSide(world) ? CLIENT : SERVER;
+        final ChunkDataCache cache = SERVER.get(dimension);
+        return cache != null ? cache : SERVER.computeIfAbsent(dimension, key -> new ChunkDataCache("server " + key.location()));
     }
 
-    private final Map<ChunkPos, ChunkData> cache;
+    private final StampedLock lock;
     private final String name;
+    private Table table; // Guarded by lock. Replaced when resized
+    private int size;
 
     private ChunkDataCache(String name)
     {
         this.name = name;
-        this.cache = new HashMap<>();
+        this.lock = new StampedLock();
+        this.table = new Table(INITIAL_CAPACITY);
     }
 
     @Nullable
     public ChunkData get(ChunkPos pos)
     {
-        return cache.get(pos);
+        return get(pos.x, pos.z);
+    }
+
+    /**
+     * Queries the cache by chunk coordinates. This does not allocate.
+     */
+    @Nullable
+    public ChunkData get(int chunkX, int chunkZ)
+    {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        final long stamp = lock.tryOptimisticRead();
+        if (stamp != 0)
+        {
+            final ChunkData data = table.find(key);
+            if (lock.validate(stamp))
+            {
+                return data;
+            }
+        }
+
+        // Raced with a write, so fall back to a read lock
+        final long readStamp = lock.readLock();
+        try
+        {
+            return table.find(key);
+        }
+        finally
+        {
+            lock.unlockRead(readStamp);
+        }
     }
 
     @Nullable
     public ChunkData remove(ChunkPos pos)
     {
-        return cache.remove(pos);
+        final long stamp = lock.writeLock();
+        try
+        {
+            final ChunkData removed = table.remove(pos.toLong());
+            if (removed != null)
+            {
+                size--;
+            }
+            return removed;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
     }
 
     public void update(ChunkPos pos, ChunkData data)
     {
-        cache.put(pos, data);
+        final long stamp = lock.writeLock();
+        try
+        {
+            put(pos.toLong(), data);
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
     }
 
     public ChunkData computeIfAbsent(ChunkPos pos, Function<ChunkPos, ChunkData> mappingFunction)
     {
-        return cache.computeIfAbsent(pos, mappingFunction);
+        final ChunkData existing = get(pos.x, pos.z);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        final long stamp = lock.writeLock();
+        try
+        {
+            ChunkData data = table.find(pos.toLong());
+            if (data == null)
+            {
+                data = mappingFunction.apply(pos);
+                put(pos.toLong(), data);
+            }
+            return data;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear()
+    {
+        final long stamp = lock.writeLock();
+        try
+        {
+            table = new Table(INITIAL_CAPACITY);
+            size = 0;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
@@ -91,43 +227,196 @@ public final class ChunkDataCache
         return "ChunkDataCache[" + name + ']';
     }
 
+    /**
+     * Must be called with the write lock held.
+     */
+    private void put(long key, ChunkData data)
+    {
+        if (table.put(key, data))
+        {
+            size++;
+            if (size > table.values.length >> 1)
+            {
+                // Keep the load factor under 1/2. Build the new table fully before publishing it
+                final Table resized = new Table(table.values.length << 1);
+                table.copyInto(resized);
+                table = resized;
+            }
+        }
+    }
+
+    /**
+     * A single open addressing table, with linear probing. An empty slot is indicated by a {@code null} value.
+     * Reads may run concurrently with a write (in which case they will fail validation, and retry), so lookups must always terminate, and never index out of bounds, even when observing a table mid-modification.
+     */
+    static final class Table
+    {
+        final long[] keys;
+        final ChunkData[] values;
+        final int mask;
+
+        Table(int capacity)
+        {
+            capacity = Mth.smallestEncompassingPowerOfTwo(capacity);
+            this.keys = new long[capacity];
+            this.values = new ChunkData[capacity];
+            this.mask = capacity - 1;
+        }
+
+        @Nullable
+        ChunkData find(long key)
+        {
+            int index = (int) HashCommon.mix(key) & mask;
+            for (int probes = 0; probes <= mask; probes++)
+            {
+                final ChunkData value = values[index];
+                if (value == null)
+                {
+                    return null;
+                }
+                if (keys[index] == key)
+                {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * @return {@code true} if a new entry was added, {@code false} if an existing entry was replaced.
+         */
+        boolean put(long key, ChunkData data)
+        {
+            int index = (int) HashCommon.mix(key) & mask;
+            while (values[index] != null)
+            {
+                if (keys[index] == key)
+                {
+                    values[index] = data;
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = data;
+            return true;
+        }
+
+        @Nullable
+        ChunkData remove(long key)
+        {
+            int index = (int) HashCommon.mix(key) & mask;
+            while (values[index] != null)
+            {
+                if (keys[index] == key)
+                {
+                    final ChunkData removed = values[index];
+                    shiftKeys(index);
+                    return removed;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        void copyInto(Table other)
+        {
+            for (int i = 0; i < values.length; i++)
+            {
+                if (values[i] != null)
+                {
+                    other.put(keys[i], values[i]);
+                }
+            }
+        }
+
+        /**
+         * Backward shift deletion, which fills the hole at {@code pos} by moving later entries in the same probe sequence back.
+         */
+        private void shiftKeys(int pos)
+        {
+            while (true)
+            {
+                final int last = pos;
+                pos = (pos + 1) & mask;
+                long key;
+                while (true)
+                {
+                    if (values[pos] == null)
+                    {
+                        values[last] = null;
+                        return;
+                    }
+                    key = keys[pos];
+                    final int slot = (int) HashCommon.mix(key) & mask;
+                    if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+                    {
+                        break;
+                    }
+                    pos = (pos + 1) & mask;
+                }
+                keys[last] = key;
+                values[last] = values[pos];
+            }
+        }
+    }
+
+    /**
+     * Keyed first by dimension, as with the server caches, and then by {@link ChunkPos#asLong(int, int)}.
+     */
     public static class WatchQueue
     {
-        private final Map<ChunkPos, Set<ServerPlayer>> queue;
+        private final Map<ResourceKey<Level>, Long2ObjectMap<Set<ServerPlayer>>> queue;
 
         private WatchQueue()
         {
-            queue = new HashMap<>(256);
+            queue = new HashMap<>();
         }
 
-        public void enqueueUnloadedChunk(ChunkPos pos, ServerPlayer player)
+        public void enqueueUnloadedChunk(ResourceKey<Level> dimension, ChunkPos pos, ServerPlayer player)
         {
-            queue.computeIfAbsent(pos, key -> new HashSet<>()).add(player);
+            queue.computeIfAbsent(dimension, key -> new Long2ObjectOpenHashMap<>(256))
+                .computeIfAbsent(pos.toLong(), key -> new HashSet<>())
+                .add(player);
         }
 
-        public void dequeueChunk(ChunkPos pos, ServerPlayer player)
+        public void dequeueChunk(ResourceKey<Level> dimension, ChunkPos pos, ServerPlayer player)
         {
-            Set<ServerPlayer> players = queue.get(pos);
-            if (players != null)
+            final Long2ObjectMap<Set<ServerPlayer>> dimensionQueue = queue.get(dimension);
+            if (dimensionQueue != null)
             {
-                players.remove(player);
-                if (players.isEmpty())
+                final Set<ServerPlayer> players = dimensionQueue.get(pos.toLong());
+                if (players != null)
                 {
-                    queue.remove(pos);
+                    players.remove(player);
+                    if (players.isEmpty())
+                    {
+                        dimensionQueue.remove(pos.toLong());
+                    }
                 }
             }
         }
 
-        public void dequeueLoadedChunk(ChunkPos pos, ChunkData data)
+        public void dequeueLoadedChunk(ResourceKey<Level> dimension, ChunkPos pos, ChunkData data)
         {
-            if (queue.containsKey(pos))
+            final Long2ObjectMap<Set<ServerPlayer>> dimensionQueue = queue.get(dimension);
+            if (dimensionQueue != null)
             {
-                final Set<ServerPlayer> players = queue.remove(pos);
-                for (ServerPlayer player : players)
+                final Set<ServerPlayer> players = dimensionQueue.remove(pos.toLong());
+                if (players != null)
                 {
-                    PacketHandler.send(PacketDistributor.PLAYER.with(() -> player), data.getUpdatePacket());
+                    for (ServerPlayer player : players)
+                    {
+                        ChunkDataBatchPacket.queueUpdate(player, data.getUpdatePacket());
+                    }
                 }
             }
         }
+
+        void clear(ResourceKey<Level> dimension)
+        {
+            queue.remove(dimension);
+        }
     }
-}
\ No newline at end of file
+}
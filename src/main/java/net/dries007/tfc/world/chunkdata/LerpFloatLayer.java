@@ -8,6 +8,7 @@ package net.dries007.tfc.world.chunkdata;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
+import org.jetbrains.annotations.Nullable;
 
 import net.dries007.tfc.util.Helpers;
 
@@ -18,6 +19,7 @@ import net.dries007.tfc.util.Helpers;
 public class LerpFloatLayer
 {
     private final float valueNW, valueNE, valueSW, valueSE;
+    private volatile float @Nullable [] grid; // Lazily computed values at each block position within the chunk
 
     public LerpFloatLayer(FriendlyByteBuf buffer)
     {
@@ -54,6 +56,28 @@ public class LerpFloatLayer
         return Helpers.lerp4(valueNE, valueNW, valueSE, valueSW, tNS, tEW);
     }
 
+    /**
+     * Gets the value at a block position within the chunk. Equivalent to {@code getValue((z & 15) / 16f, 1 - ((x & 15) / 16f))}, but after the first query, is a single array lookup.
+     */
+    public float getValue(int x, int z)
+    {
+        float[] grid = this.grid;
+        if (grid == null)
+        {
+            // Racy, but the grid is deterministic, and only published once fully computed
+            grid = new float[16 * 16];
+            for (int localX = 0; localX < 16; localX++)
+            {
+                for (int localZ = 0; localZ < 16; localZ++)
+                {
+                    grid[localX | (localZ << 4)] = getValue(localZ / 16f, 1 - (localX / 16f));
+                }
+            }
+            this.grid = grid;
+        }
+        return grid[(x & 15) | ((z & 15) << 4)];
+    }
+
     public CompoundTag write()
     {
         final CompoundTag nbt = new CompoundTag();
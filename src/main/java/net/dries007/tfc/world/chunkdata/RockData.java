@@ -6,9 +6,12 @@
 
 package net.dries007.tfc.world.chunkdata;
 
+import java.util.Arrays;
 import java.util.List;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.Mth;
+import net.minecraft.util.SimpleBitStorage;
 import org.jetbrains.annotations.Nullable;
 
 import net.dries007.tfc.world.settings.RockLayerSettings;
@@ -19,6 +22,7 @@ import static net.dries007.tfc.world.TFCChunkGenerator.*;
 public class RockData
 {
     private static final int SIZE = 16 * 16;
+    private static final int LAYERS = 3;
 
     private static int index(int x, int z)
     {
@@ -47,12 +51,22 @@ public class RockData
         this.middleLayer = new RockSettings[SIZE];
         this.topLayer = new RockSettings[SIZE];
 
-        read(bottomLayer, nbt.getIntArray("bottomLayer"), settings);
-        read(middleLayer, nbt.getIntArray("middleLayer"), settings);
-        read(topLayer, nbt.getIntArray("topLayer"), settings);
+        if (nbt.contains("palette"))
+        {
+            readPalette(nbt.getIntArray("palette"), nbt.getLongArray("rocks"), settings);
+            rockLayerHeight = readHeights(nbt.getByteArray("layerHeight"));
+            surfaceHeight = nbt.contains("surface") ? readHeights(nbt.getByteArray("surface")) : null;
+        }
+        else
+        {
+            // Legacy format, one int array per layer, of indexes into the global rock list
+            read(bottomLayer, nbt.getIntArray("bottomLayer"), settings);
+            read(middleLayer, nbt.getIntArray("middleLayer"), settings);
+            read(topLayer, nbt.getIntArray("topLayer"), settings);
 
-        rockLayerHeight = nbt.getIntArray("height");
-        surfaceHeight = nbt.contains("surfaceHeight") ? nbt.getIntArray("surfaceHeight") : null;
+            rockLayerHeight = nbt.getIntArray("height");
+            surfaceHeight = nbt.contains("surfaceHeight") ? nbt.getIntArray("surfaceHeight") : null;
+        }
     }
 
     public RockSettings getRock(BlockPos pos)
@@ -91,32 +105,69 @@ public class RockData
         this.surfaceHeight = surfaceHeightMap;
     }
 
+    /**
+     * Writes this rock data in a compact form. The three layers share a palette of rock ids local to this chunk, and are stored as bit packed indexes into that palette, using the fewest bits possible (usually one or two, as a chunk rarely contains more than a handful of rocks).
+     * Height maps are stored as zigzag varint encoded deltas between adjacent columns, as they vary slowly.
+     */
     public CompoundTag write(RockLayerSettings settings)
     {
         final CompoundTag nbt = new CompoundTag();
 
-        // Record the raw byte values
-        nbt.putIntArray("bottomLayer", write(bottomLayer, settings));
-        nbt.putIntArray("middleLayer", write(middleLayer, settings));
-        nbt.putIntArray("topLayer", write(topLayer, settings));
+        final int[] globalToLocal = new int[settings.getRocks().size() + 1]; // Offset by one, as an unknown rock has an id of -1
+        final int[] palette = new int[globalToLocal.length];
+        final int[] indexes = new int[LAYERS * SIZE];
+        int paletteSize = 0;
+
+        Arrays.fill(globalToLocal, -1);
+        for (int i = 0; i < indexes.length; i++)
+        {
+            final int id = settings.getRockId(layer(i / SIZE)[i % SIZE]);
+            if (globalToLocal[id + 1] == -1)
+            {
+                globalToLocal[id + 1] = paletteSize;
+                palette[paletteSize++] = id;
+            }
+            indexes[i] = globalToLocal[id + 1];
+        }
+
+        final SimpleBitStorage storage = new SimpleBitStorage(bitsFor(paletteSize), indexes.length);
+        for (int i = 0; i < indexes.length; i++)
+        {
+            storage.set(i, indexes[i]);
+        }
 
-        nbt.putIntArray("height", rockLayerHeight);
+        nbt.putIntArray("palette", Arrays.copyOf(palette, paletteSize));
+        nbt.putLongArray("rocks", storage.getRaw());
+        nbt.putByteArray("layerHeight", writeHeights(rockLayerHeight));
         if (surfaceHeight != null)
         {
-            nbt.putIntArray("surfaceHeight", surfaceHeight);
+            nbt.putByteArray("surface", writeHeights(surfaceHeight));
         }
         return nbt;
     }
 
-    private int[] write(RockSettings[] layer, RockLayerSettings settings)
+    private RockSettings[] layer(int layer)
     {
-        final int[] array = new int[SIZE];
-        final List<RockSettings> palette = settings.getRocks();
-        for (int i = 0; i < array.length; i++)
+        return layer == 0 ? bottomLayer : (layer == 1 ? middleLayer : topLayer);
+    }
+
+    private void readPalette(int[] paletteIds, long[] data, RockLayerSettings settings)
+    {
+        // Resolve each palette entry once, then each column is a single array lookup
+        final List<RockSettings> rocks = settings.getRocks();
+        final RockSettings[] palette = new RockSettings[paletteIds.length];
+        for (int i = 0; i < palette.length; i++)
         {
-            array[i] = palette.indexOf(layer[i]); // indexOf() is O(n) but should be fast enough for our purposes, this isn't called that often
+            palette[i] = rocks.get(paletteIds[i]);
+        }
+
+        final SimpleBitStorage storage = new SimpleBitStorage(bitsFor(palette.length), LAYERS * SIZE, data);
+        for (int i = 0; i < SIZE; i++)
+        {
+            bottomLayer[i] = palette[storage.get(i)];
+            middleLayer[i] = palette[storage.get(SIZE + i)];
+            topLayer[i] = palette[storage.get(2 * SIZE + i)];
         }
-        return array;
     }
 
     private void read(RockSettings[] layer, int[] data, RockLayerSettings settings)
@@ -129,4 +180,48 @@ public class RockData
             layer[i] = palette.get(data[i]);
         }
     }
-}
\ No newline at end of file
+
+    private static int bitsFor(int paletteSize)
+    {
+        return Math.max(1, Mth.ceillog2(paletteSize));
+    }
+
+    private static byte[] writeHeights(int[] heights)
+    {
+        final byte[] buffer = new byte[heights.length * 5]; // Worst case for a 32-bit varint
+        int pos = 0, prev = 0;
+        for (int height : heights)
+        {
+            final int delta = height - prev;
+            int value = (delta << 1) ^ (delta >> 31); // Zigzag, so small negative deltas are also small
+            while ((value & ~0x7F) != 0)
+            {
+                buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[pos++] = (byte) value;
+            prev = height;
+        }
+        return Arrays.copyOf(buffer, pos);
+    }
+
+    private static int[] readHeights(byte[] data)
+    {
+        final int[] heights = new int[SIZE];
+        int pos = 0, prev = 0;
+        for (int i = 0; i < SIZE; i++)
+        {
+            int value = 0, shift = 0;
+            byte b;
+            do
+            {
+                b = data[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            prev += (value >>> 1) ^ -(value & 1);
+            heights[i] = prev;
+        }
+        return heights;
+    }
+}
@@ -113,7 +113,9 @@ public class TFCChunkDataGenerator implements ChunkDataGenerator
         final RockSettings[] middleLayer = new RockSettings[256];
         final RockSettings[] topLayer = new RockSettings[256];
         final int[] rockLayerHeight = new int[256];
+        final float[] rockLayerHeightNoise = new float[256];
 
+        layerHeightNoise.noiseGrid(chunkX, chunkZ, 16, 16, rockLayerHeightNoise);
         for (int x = 0; x < 16; x++)
         {
             for (int z = 0; z < 16; z++)
@@ -122,7 +124,7 @@ public class TFCChunkDataGenerator implements ChunkDataGenerator
                 middleLayer[x + 16 * z] = middleRockLayer.get(chunkX + x, chunkZ + z);
                 topLayer[x + 16 * z] = topRockLayer.get(chunkX + x, chunkZ + z);
 
-                rockLayerHeight[x + 16 * z] = (int) layerHeightNoise.noise(chunkX + x, chunkZ + z);
+                rockLayerHeight[x + 16 * z] = (int) rockLayerHeightNoise[x + 16 * z];
             }
         }
 
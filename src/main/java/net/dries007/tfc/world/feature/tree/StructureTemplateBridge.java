@@ -0,0 +1,22 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.tree;
+
+import java.util.function.Supplier;
+
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+
+/**
+ * The bridge interface for structure templates, allowing them to cache their compiled tree form on them.
+ * Do not call directly.
+ *
+ * @see TreeTemplate#get(StructureTemplate)
+ */
+public interface StructureTemplateBridge
+{
+    TreeTemplate tfc$getTreeTemplate(Supplier<TreeTemplate> init);
+}
@@ -22,8 +22,10 @@ import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.level.levelgen.structure.templatesystem.BlockIgnoreProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.BlockRotProcessor;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureManager;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructurePlaceSettings;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureProcessor;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidState;
@@ -148,6 +150,64 @@ public final class TreeHelpers
      * Allows replacing leaves and air blocks
      */
     public static void placeTemplate(StructureTemplate template, StructurePlaceSettings placementIn, LevelAccessor level, BlockPos pos)
+    {
+        placeTemplate(template, placementIn, level, pos, 1f);
+    }
+
+    /**
+     * Places a template, using its precompiled form (see {@link TreeTemplate}), as if by {@link #getPlacementSettings(LevelHeightAccessor, ChunkPos, Random)} with an additional {@link BlockRotProcessor} of the given integrity.
+     * The random is consumed identically to the equivalent processors, so this places exactly the same blocks.
+     *
+     * @param integrity The chance for each block to be placed, in [0, 1].
+     */
+    public static void placeTemplate(StructureTemplate template, StructurePlaceSettings placementIn, LevelAccessor level, BlockPos pos, float integrity)
+    {
+        final List<StructureProcessor> processors = placementIn.getProcessors();
+        if (processors.size() != 1 || processors.get(0) != BlockIgnoreProcessor.STRUCTURE_AND_AIR)
+        {
+            // Unknown processors, so we can't use the compiled template
+            if (integrity < 1f)
+            {
+                placementIn.addProcessor(new BlockRotProcessor(integrity));
+            }
+            placeTemplateWithProcessors(template, placementIn, level, pos);
+            return;
+        }
+
+        final TreeTemplate compiled = TreeTemplate.get(template);
+        if (compiled.palettes() == 0)
+        {
+            throw new IllegalStateException("No palettes");
+        }
+
+        final TreeTemplate.Variant variant = compiled.variant(placementIn.getRandom(pos).nextInt(compiled.palettes()), placementIn.getMirror(), placementIn.getRotation());
+        final BoundingBox boundingBox = placementIn.getBoundingBox();
+        final boolean checkBounds = boundingBox != null && !variant.isInside(boundingBox, pos);
+        final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < variant.size(); i++)
+        {
+            final long offset = variant.position(i);
+            cursor.set(pos.getX() + BlockPos.getX(offset), pos.getY() + BlockPos.getY(offset), pos.getZ() + BlockPos.getZ(offset));
+
+            // Matches BlockRotProcessor, which is applied to every block before any are bounds checked
+            if (integrity < 1f && !(placementIn.getRandom(cursor).nextFloat() <= integrity))
+            {
+                continue;
+            }
+            if (checkBounds && !boundingBox.isInside(cursor))
+            {
+                continue;
+            }
+
+            final BlockState stateAt = level.getBlockState(cursor);
+            if (EnvironmentHelpers.isWorldgenReplaceable(stateAt) || Helpers.isBlock(stateAt.getBlock(), BlockTags.LEAVES))
+            {
+                level.setBlock(cursor, variant.state(i), 2);
+            }
+        }
+    }
+
+    private static void placeTemplateWithProcessors(StructureTemplate template, StructurePlaceSettings placementIn, LevelAccessor level, BlockPos pos)
     {
         final List<StructureTemplate.StructureBlockInfo> transformedBlockInfos = placementIn.getRandomPalette(((StructureTemplateAccessor) template).accessor$getPalettes(), pos).blocks();
         BoundingBox boundingBox = placementIn.getBoundingBox();
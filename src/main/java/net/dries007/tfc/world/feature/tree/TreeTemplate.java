@@ -0,0 +1,150 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.Mirror;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.levelgen.structure.templatesystem.BlockIgnoreProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.dries007.tfc.mixin.accessor.StructureTemplateAccessor;
+
+/**
+ * A {@link StructureTemplate}, precompiled for placement as a tree by {@link TreeHelpers#placeTemplate}.
+ * <p>
+ * For each palette, and each mirror and rotation, this holds the blocks which would be placed, in palette order, with their positions already transformed and packed (see {@link BlockPos#asLong(int, int, int)}), and their states already mirrored and rotated.
+ * Air and structure blocks are dropped, as they are by {@link BlockIgnoreProcessor#STRUCTURE_AND_AIR}.
+ * <p>
+ * Compiled templates are cached on the template itself (see {@link StructureTemplateBridge}), and are immutable, so they can be shared between world generation threads.
+ */
+public final class TreeTemplate
+{
+    private static final Mirror[] MIRRORS = Mirror.values();
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    public static TreeTemplate get(StructureTemplate template)
+    {
+        return ((StructureTemplateBridge) template).tfc$getTreeTemplate(() -> new TreeTemplate(template));
+    }
+
+    private final Variant[] variants; // [palette][mirror][rotation]
+    private final int palettes;
+
+    private TreeTemplate(StructureTemplate template)
+    {
+        final List<StructureTemplate.Palette> palettes = ((StructureTemplateAccessor) template).accessor$getPalettes();
+
+        this.palettes = palettes.size();
+        this.variants = new Variant[this.palettes * MIRRORS.length * ROTATIONS.length];
+
+        int index = 0;
+        for (StructureTemplate.Palette palette : palettes)
+        {
+            for (Mirror mirror : MIRRORS)
+            {
+                for (Rotation rotation : ROTATIONS)
+                {
+                    variants[index++] = new Variant(palette.blocks(), mirror, rotation);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of palettes in the original template. Placement must still choose one of these at random, as vanilla does, even if there is only one.
+     */
+    public int palettes()
+    {
+        return palettes;
+    }
+
+    public Variant variant(int palette, Mirror mirror, Rotation rotation)
+    {
+        return variants[(palette * MIRRORS.length + mirror.ordinal()) * ROTATIONS.length + rotation.ordinal()];
+    }
+
+    /**
+     * A single palette of a template, under a single mirror and rotation.
+     */
+    public static final class Variant
+    {
+        private final long[] positions; // Packed, relative to the template origin
+        private final BlockState[] states;
+        private final int minX, minY, minZ, maxX, maxY, maxZ; // Bounds of all positions, relative to the template origin
+
+        @SuppressWarnings("deprecation")
+        private Variant(List<StructureTemplate.StructureBlockInfo> blocks, Mirror mirror, Rotation rotation)
+        {
+            final LongList positions = new LongArrayList(blocks.size());
+            final List<BlockState> states = new ArrayList<>(blocks.size());
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+            for (StructureTemplate.StructureBlockInfo info : blocks)
+            {
+                if (info.state.is(Blocks.AIR) || info.state.is(Blocks.STRUCTURE_BLOCK))
+                {
+                    continue; // As per BlockIgnoreProcessor.STRUCTURE_AND_AIR
+                }
+
+                final BlockPos pos = TreeHelpers.transform(info.pos, mirror, rotation);
+                positions.add(pos.asLong());
+                states.add(info.state.mirror(mirror).rotate(rotation));
+
+                minX = Math.min(minX, pos.getX());
+                minY = Math.min(minY, pos.getY());
+                minZ = Math.min(minZ, pos.getZ());
+                maxX = Math.max(maxX, pos.getX());
+                maxY = Math.max(maxY, pos.getY());
+                maxZ = Math.max(maxZ, pos.getZ());
+            }
+
+            this.positions = positions.toLongArray();
+            this.states = states.toArray(new BlockState[0]);
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+        }
+
+        public int size()
+        {
+            return positions.length;
+        }
+
+        public long position(int index)
+        {
+            return positions[index];
+        }
+
+        public BlockState state(int index)
+        {
+            return states[index];
+        }
+
+        /**
+         * @return {@code true} if every position of this variant, placed at {@code origin}, is inside {@code bounds}. Vacuously true for an empty variant.
+         */
+        public boolean isInside(BoundingBox bounds, BlockPos origin)
+        {
+            return positions.length == 0 || (
+                bounds.minX() <= origin.getX() + minX && origin.getX() + maxX <= bounds.maxX() &&
+                bounds.minY() <= origin.getY() + minY && origin.getY() + maxY <= bounds.maxY() &&
+                bounds.minZ() <= origin.getZ() + minZ && origin.getZ() + maxZ <= bounds.maxZ());
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.dries007.tfc.util.collections.IWeighted;
 import net.dries007.tfc.world.Codecs;
+import net.dries007.tfc.world.LockFreeCache;
 
 public class VeinConfig implements FeatureConfiguration
 {
@@ -54,6 +55,7 @@ public class VeinConfig implements FeatureConfiguration
     @Nullable private final TagKey<Biome> biomes;
 
     private final PositionalRandomFactory fork;
+    private final LockFreeCache<VeinFeature.Candidate> candidateCache;
 
     public VeinConfig(VeinConfig other)
     {
@@ -76,6 +78,7 @@ public class VeinConfig implements FeatureConfiguration
             .forkPositional()
             .fromHashOf(randomName)
             .forkPositional();
+        this.candidateCache = new LockFreeCache<>(1024, true);
     }
 
     public Set<BlockState> getOreStates()
@@ -125,6 +128,11 @@ public class VeinConfig implements FeatureConfiguration
         return density;
     }
 
+    LockFreeCache<VeinFeature.Candidate> getCandidateCache()
+    {
+        return candidateCache;
+    }
+
     public int getChunkRadius()
     {
         return 1 + (size >> 4);
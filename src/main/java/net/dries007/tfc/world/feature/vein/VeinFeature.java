@@ -29,6 +29,7 @@ import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import com.mojang.serialization.Codec;
 import net.dries007.tfc.common.fluids.FluidHelpers;
 import net.dries007.tfc.util.EnvironmentHelpers;
+import net.dries007.tfc.world.LockFreeCache;
 import org.jetbrains.annotations.Nullable;
 
 public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends Feature<C>
@@ -63,7 +64,6 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
     public final List<V> getNearbyVeins(WorldGenLevel level, WorldGenerationContext context, ChunkPos pos, int radius, C config, Function<BlockPos, Holder<Biome>> biomeQuery)
     {
         final List<V> veins = new ArrayList<>();
-        final Random random = new Random();
         for (int x = pos.x - radius; x <= pos.x + radius; x++)
         {
             for (int z = pos.z - radius; z <= pos.z + radius; z++)
@@ -76,17 +76,38 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
 
     public final void getVeinsAtChunk(WorldGenLevel level, WorldGenerationContext context, int chunkPosX, int chunkPosZ, List<V> veins, C config, Function<BlockPos, Holder<Biome>> biomeQuery)
     {
-        final RandomSource forkedRandom = config.random(level.getSeed(), chunkPosX, chunkPosZ);
-        if (config.random(level.getSeed(), chunkPosX, chunkPosZ).nextInt(config.getRarity()) == 0)
+        final V vein = getVeinAtChunk(level.getSeed(), context, chunkPosX, chunkPosZ, config);
+        if (vein != null && config.canSpawnInBiome(biomeQuery.apply(vein.getPos())))
         {
-            final V vein = createVein(context, chunkPosX << 4, chunkPosZ << 4, forkedRandom, config);
-            if (config.canSpawnInBiome(biomeQuery.apply(vein.getPos())))
-            {
-                veins.add(vein);
-            }
+            veins.add(vein);
         }
     }
 
+    /**
+     * Every vein is queried by all chunks within its radius, and by the locate command, so the candidate vein (or absence of one) at each chunk is cached in the config.
+     * A candidate is only valid for the same seed and world height it was created with, as a config may be used in multiple worlds or dimensions.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private V getVeinAtChunk(long seed, WorldGenerationContext context, int chunkPosX, int chunkPosZ, C config)
+    {
+        final LockFreeCache<Candidate> candidates = config.getCandidateCache();
+        final Candidate cached = candidates.getIfPresent(chunkPosX, chunkPosZ);
+        if (cached != null && cached.seed == seed && cached.minY == context.getMinGenY() && cached.height == context.getGenDepth())
+        {
+            return (V) cached.vein;
+        }
+
+        V vein = null;
+        final RandomSource forkedRandom = config.random(seed, chunkPosX, chunkPosZ);
+        if (config.random(seed, chunkPosX, chunkPosZ).nextInt(config.getRarity()) == 0)
+        {
+            vein = createVein(context, chunkPosX << 4, chunkPosZ << 4, forkedRandom, config);
+        }
+        candidates.set(chunkPosX, chunkPosZ, new Candidate(seed, context.getMinGenY(), context.getGenDepth(), vein));
+        return vein;
+    }
+
     protected void place(WorldGenLevel level, ChunkGenerator generator, Random random, int blockX, int blockZ, V vein, C config)
     {
         final boolean debugIndicatorLocations = false;
@@ -95,12 +116,18 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
         final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
         final BlockPos pos = vein.getPos();
         final BoundingBox box = getBoundingBox(config, vein).moved(pos.getX(), pos.getY(), pos.getZ());
+        final Indicator indicator = config.getIndicator();
 
         // Intersect the bounding box with the chunk allowed region
         int minX = Math.max(blockX, box.minX()), maxX = Math.min(blockX + 15, box.maxX());
         int minY = Math.max(config.getMinY(context), box.minY()), maxY = Math.min(config.getMaxY(context), box.maxY());
         int minZ = Math.max(blockZ, box.minZ()), maxZ = Math.min(blockZ + 15, box.maxZ());
 
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+        {
+            return; // Vein does not intersect this chunk
+        }
+
         for (int x = minX; x <= maxX; x++)
         {
             for (int z = minZ; z <= maxZ; z++)
@@ -122,7 +149,6 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
                     }
                 }
 
-                final Indicator indicator = config.getIndicator();
                 if (indicator != null && maxVeinY != -1 && random.nextInt(indicator.rarity()) == 0)
                 {
                     // Pick a random position
@@ -186,4 +212,6 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
      * Gets the total bounding box around where the vein can spawn, using relative position to the center of the vein
      */
     protected abstract BoundingBox getBoundingBox(C config, V vein);
+
+    record Candidate(long seed, int minY, int height, @Nullable Vein vein) {}
 }
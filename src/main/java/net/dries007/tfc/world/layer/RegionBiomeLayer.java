@@ -20,7 +20,7 @@ public enum RegionBiomeLayer
     {
         return () -> {
             final TypedArea<Region.Point> prevArea = prev.get();
-            return new Area((x, z) -> prevArea.get(x, z).biome, 1024);
+            return new Area((x, z) -> prevArea.get(x, z).biome(), 1024);
         };
     }
 }
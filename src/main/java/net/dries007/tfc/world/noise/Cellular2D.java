@@ -31,6 +31,15 @@ public class Cellular2D implements Noise2D
         return cell(x, y).noise();
     }
 
+    @Override
+    public void noise(float[] xs, float[] zs, float[] out, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            out[i] = closestHash(xs[i], zs[i]) * (1 / 2147483648.0f);
+        }
+    }
+
     @Override
     public Cellular2D spread(float scaleFactor)
     {
@@ -99,5 +108,50 @@ public class Cellular2D implements Noise2D
         return new Cell(closestCenterX / frequency, closestCenterY / frequency, closestCellX, closestCellY, distance0, distance1, closestHash * (1 / 2147483648.0f));
     }
 
+    /**
+     * Equivalent to {@code cell(x, y).noise()}, but only tracks the closest hash, and does not allocate a {@link Cell}.
+     */
+    private int closestHash(float x, float y)
+    {
+        x *= frequency;
+        y *= frequency;
+
+        final int primeX = 501125321;
+        final int primeY = 1136930381;
+
+        int xr = FastNoiseLite.FastFloor(x);
+        int yr = FastNoiseLite.FastFloor(y);
+
+        float distance0 = Float.MAX_VALUE;
+        int closestHash = 0;
+
+        int xPrimed = (xr - 1) * primeX;
+        int yPrimedBase = (yr - 1) * primeY;
+
+        for (int xi = xr - 1; xi <= xr + 1; xi++)
+        {
+            int yPrimed = yPrimedBase;
+
+            for (int yi = yr - 1; yi <= yr + 1; yi++)
+            {
+                int hash = FastNoiseLite.Hash(seed, xPrimed, yPrimed);
+                int idx = hash & (255 << 1);
+
+                float vecX = xi + FastNoiseLite.RandVecs2D[idx] * JITTER;
+                float vecY = yi + FastNoiseLite.RandVecs2D[idx | 1] * JITTER;
+
+                float newDistance = (vecX - x) * (vecX - x) + (vecY - y) * (vecY - y);
+                if (newDistance < distance0)
+                {
+                    distance0 = newDistance;
+                    closestHash = hash;
+                }
+                yPrimed += primeY;
+            }
+            xPrimed += primeX;
+        }
+        return closestHash;
+    }
+
     public record Cell(float x, float y, int cx, int cy, float f1, float f2, float noise) {}
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import java.util.Arrays;
+
+import net.minecraft.util.Mth;
+
+/**
+ * A noise which applies a flat sequence of value transformations ({@link #affine(float, float)}, {@link #clamped(float, float)}, {@link #ridged()}, ...) to a source noise.
+ * Applying another transformation to this noise appends a stage, rather than wrapping another node around it, so a chain of any length is a single node, evaluated by a small interpreter over the stage arrays.
+ * <p>
+ * Stages are applied one at a time, exactly as the equivalent nested combinators would be. Adjacent affine stages are not multiplied together, as that would change the float results, and with them, terrain in existing worlds.
+ */
+final class MappedNoise2D implements Noise2D
+{
+    static final int AFFINE = 0;
+    static final int CLAMP = 1;
+    static final int ABS = 2;
+    static final int RIDGED = 3;
+    static final int TERRACES = 4;
+    static final int MAP = 5;
+
+    /**
+     * Appends a stage to {@code source} if it is already a mapped noise, otherwise wraps it in a new one.
+     */
+    static Noise2D append(Noise2D source, int op, float a, float b, FloatOperator function)
+    {
+        if (source instanceof MappedNoise2D mapped)
+        {
+            final int size = mapped.ops.length;
+            final int[] ops = Arrays.copyOf(mapped.ops, size + 1);
+            final float[] as = Arrays.copyOf(mapped.as, size + 1);
+            final float[] bs = Arrays.copyOf(mapped.bs, size + 1);
+            final FloatOperator[] functions = Arrays.copyOf(mapped.functions, size + 1);
+            ops[size] = op;
+            as[size] = a;
+            bs[size] = b;
+            functions[size] = function;
+            return new MappedNoise2D(mapped.source, ops, as, bs, functions);
+        }
+        return new MappedNoise2D(source, new int[] {op}, new float[] {a}, new float[] {b}, new FloatOperator[] {function});
+    }
+
+    final Noise2D source;
+    final int[] ops;
+    final float[] as, bs; // Constant parameters of each stage, if any
+    final FloatOperator[] functions; // Only for MAP stages, otherwise null
+
+    private MappedNoise2D(Noise2D source, int[] ops, float[] as, float[] bs, FloatOperator[] functions)
+    {
+        this.source = source;
+        this.ops = ops;
+        this.as = as;
+        this.bs = bs;
+        this.functions = functions;
+    }
+
+    @Override
+    public float noise(float x, float z)
+    {
+        float value = source.noise(x, z);
+        for (int i = 0; i < ops.length; i++)
+        {
+            value = apply(i, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void noise(float[] xs, float[] zs, float[] out, int count)
+    {
+        source.noise(xs, zs, out, count);
+        for (int i = 0; i < ops.length; i++)
+        {
+            final float a = as[i], b = bs[i];
+            switch (ops[i])
+            {
+                case AFFINE -> {
+                    for (int j = 0; j < count; j++)
+                    {
+                        out[j] = out[j] * a + b;
+                    }
+                }
+                case CLAMP -> {
+                    for (int j = 0; j < count; j++)
+                    {
+                        out[j] = Mth.clamp(out[j], a, b);
+                    }
+                }
+                default -> {
+                    for (int j = 0; j < count; j++)
+                    {
+                        out[j] = apply(i, out[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    private float apply(int stage, float value)
+    {
+        return switch (ops[stage])
+            {
+                case AFFINE -> value * as[stage] + bs[stage];
+                case CLAMP -> Mth.clamp(value, as[stage], bs[stage]);
+                case ABS -> Math.abs(value);
+                case RIDGED -> 1f - 2f * (value < 0 ? -value : value);
+                case TERRACES -> {
+                    final float levels = as[stage];
+                    final float rounded = (int) ((0.5f * value + 0.5f) * levels); // In range [0, levels)
+                    yield (rounded * 2f) / levels - 1f;
+                }
+                default -> functions[stage].applyAsFloat(value);
+            };
+    }
+}
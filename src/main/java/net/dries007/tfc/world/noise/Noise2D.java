@@ -6,16 +6,56 @@
 
 package net.dries007.tfc.world.noise;
 
-import net.minecraft.util.Mth;
+import java.util.Arrays;
 
 /**
  * Wrapper for a 2D noise layer
+ * <p>
+ * Noise can be sampled either per point, via {@link #noise(float, float)}, or in batches, via {@link #noise(float[], float[], float[], int)}. All combinators in this interface implement both forms directly: the point-wise form is a single call per combinator, and the batched form evaluates each stage over the whole array, which avoids walking the full chain of combinators once per point.
+ * Both forms must produce identical results.
  */
 @FunctionalInterface
 public interface Noise2D
 {
     float noise(float x, float z);
 
+    /**
+     * Samples this noise at {@code count} positions.
+     *
+     * @param xs    The x positions
+     * @param zs    The z positions
+     * @param out   The output array. May not be the same array as either of the inputs.
+     * @param count The number of positions to sample
+     */
+    default void noise(float[] xs, float[] zs, float[] out, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            out[i] = noise(xs[i], zs[i]);
+        }
+    }
+
+    /**
+     * Samples this noise over a grid of integer positions, starting at {@code (minX, minZ)}.
+     *
+     * @param out The output array, of size at least {@code sizeX * sizeZ}, indexed by {@code x + sizeX * z}
+     */
+    default void noiseGrid(int minX, int minZ, int sizeX, int sizeZ, float[] out)
+    {
+        final int count = sizeX * sizeZ;
+        final NoiseScratch.Buffers buffers = NoiseScratch.GRID.get(count);
+        final float[] xs = buffers.floats[0], zs = buffers.floats[1];
+        for (int z = 0; z < sizeZ; z++)
+        {
+            for (int x = 0; x < sizeX; x++)
+            {
+                xs[x + sizeX * z] = minX + x;
+                zs[x + sizeX * z] = minZ + z;
+            }
+        }
+        noise(xs, zs, out, count);
+    }
+
     /**
      * @param octaves The number of octaves
      */
@@ -28,13 +68,40 @@ public interface Noise2D
             frequency[i] = 1 << i;
             amplitude[i] = (float) Math.pow(0.5f, octaves - i);
         }
-        return (x, y) -> {
-            float value = 0;
-            for (int i = 0; i < octaves; i++)
+        final NoiseScratch scratch = new NoiseScratch(3, false);
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float y)
             {
-                value += Noise2D.this.noise(x / frequency[i], y / frequency[i]) * amplitude[i];
+                float value = 0;
+                for (int i = 0; i < octaves; i++)
+                {
+                    value += Noise2D.this.noise(x / frequency[i], y / frequency[i]) * amplitude[i];
+                }
+                return value;
+            }
+
+            @Override
+            public void noise(float[] xs, float[] zs, float[] out, int count)
+            {
+                final NoiseScratch.Buffers buffers = scratch.get(count);
+                final float[] octaveXs = buffers.floats[0], octaveZs = buffers.floats[1], octave = buffers.floats[2];
+                Arrays.fill(out, 0, count, 0);
+                for (int i = 0; i < octaves; i++)
+                {
+                    for (int j = 0; j < count; j++)
+                    {
+                        octaveXs[j] = xs[j] / frequency[i];
+                        octaveZs[j] = zs[j] / frequency[i];
+                    }
+                    Noise2D.this.noise(octaveXs, octaveZs, octave, count);
+                    for (int j = 0; j < count; j++)
+                    {
+                        out[j] += octave[j] * amplitude[i];
+                    }
+                }
             }
-            return value;
         };
     }
 
@@ -45,11 +112,7 @@ public interface Noise2D
      */
     default Noise2D ridged()
     {
-        return (x, y) -> {
-            float value = Noise2D.this.noise(x, y);
-            value = value < 0 ? -value : value;
-            return 1f - 2f * value;
-        };
+        return MappedNoise2D.append(this, MappedNoise2D.RIDGED, 0, 0, null);
     }
 
     /**
@@ -59,7 +122,7 @@ public interface Noise2D
      */
     default Noise2D abs()
     {
-        return (x, y) -> Math.abs(Noise2D.this.noise(x, y));
+        return MappedNoise2D.append(this, MappedNoise2D.ABS, 0, 0, null);
     }
 
     /**
@@ -71,11 +134,7 @@ public interface Noise2D
      */
     default Noise2D terraces(int levels)
     {
-        return (x, y) -> {
-            float value = 0.5f * Noise2D.this.noise(x, y) + 0.5f;
-            float rounded = (int) (value * levels); // In range [0, levels)
-            return (rounded * 2f) / levels - 1f;
-        };
+        return MappedNoise2D.append(this, MappedNoise2D.TERRACES, levels, 0, null);
     }
 
     /**
@@ -86,7 +145,28 @@ public interface Noise2D
      */
     default Noise2D spread(float scaleFactor)
     {
-        return (x, y) -> Noise2D.this.noise(x * scaleFactor, y * scaleFactor);
+        final NoiseScratch scratch = new NoiseScratch(2, false);
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float y)
+            {
+                return Noise2D.this.noise(x * scaleFactor, y * scaleFactor);
+            }
+
+            @Override
+            public void noise(float[] xs, float[] zs, float[] out, int count)
+            {
+                final NoiseScratch.Buffers buffers = scratch.get(count);
+                final float[] spreadXs = buffers.floats[0], spreadZs = buffers.floats[1];
+                for (int i = 0; i < count; i++)
+                {
+                    spreadXs[i] = xs[i] * scaleFactor;
+                    spreadZs[i] = zs[i] * scaleFactor;
+                }
+                Noise2D.this.noise(spreadXs, spreadZs, out, count);
+            }
+        };
     }
 
     default Noise2D scaled(float min, float max)
@@ -112,7 +192,7 @@ public interface Noise2D
 
     default Noise2D affine(float scale, float shift)
     {
-        return (x, y) -> Noise2D.this.noise(x, y) * scale + shift;
+        return MappedNoise2D.append(this, MappedNoise2D.AFFINE, scale, shift, null);
     }
 
     default Noise2D warped(OpenSimplex2D warp)
@@ -121,11 +201,35 @@ public interface Noise2D
         warp.fnl.SetFractalType(FastNoiseLite.FractalType.DomainWarpIndependent);
         warp.fnl.SetDomainWarpAmp(warp.getAmplitude() * 2);
         final FastNoiseLite.Vector2 cursor = new FastNoiseLite.Vector2(0, 0);
-        return (x, z) -> {
-            cursor.x = x;
-            cursor.y = z;
-            warp.fnl.DomainWarp(cursor);
-            return Noise2D.this.noise(cursor.x, cursor.y);
+        final ThreadLocal<FastNoiseLite.Vector2> batchCursor = ThreadLocal.withInitial(() -> new FastNoiseLite.Vector2(0, 0));
+        final NoiseScratch scratch = new NoiseScratch(2, false);
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                cursor.x = x;
+                cursor.y = z;
+                warp.fnl.DomainWarp(cursor);
+                return Noise2D.this.noise(cursor.x, cursor.y);
+            }
+
+            @Override
+            public void noise(float[] xs, float[] zs, float[] out, int count)
+            {
+                final FastNoiseLite.Vector2 cursor = batchCursor.get();
+                final NoiseScratch.Buffers buffers = scratch.get(count);
+                final float[] warpedXs = buffers.floats[0], warpedZs = buffers.floats[1];
+                for (int i = 0; i < count; i++)
+                {
+                    cursor.x = xs[i];
+                    cursor.y = zs[i];
+                    warp.fnl.DomainWarp(cursor);
+                    warpedXs[i] = cursor.x;
+                    warpedZs[i] = cursor.y;
+                }
+                Noise2D.this.noise(warpedXs, warpedZs, out, count);
+            }
         };
     }
 
@@ -138,7 +242,7 @@ public interface Noise2D
      */
     default Noise2D clamped(float min, float max)
     {
-        return (x, y) -> Mth.clamp(Noise2D.this.noise(x, y), min, max);
+        return MappedNoise2D.append(this, MappedNoise2D.CLAMP, min, max, null);
     }
 
     /**
@@ -146,7 +250,27 @@ public interface Noise2D
      */
     default Noise2D add(Noise2D other)
     {
-        return (x, y) -> Noise2D.this.noise(x, y) + other.noise(x, y);
+        final NoiseScratch scratch = new NoiseScratch(1, false);
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float y)
+            {
+                return Noise2D.this.noise(x, y) + other.noise(x, y);
+            }
+
+            @Override
+            public void noise(float[] xs, float[] zs, float[] out, int count)
+            {
+                final float[] otherOut = scratch.get(count).floats[0];
+                Noise2D.this.noise(xs, zs, out, count);
+                other.noise(xs, zs, otherOut, count);
+                for (int i = 0; i < count; i++)
+                {
+                    out[i] += otherOut[i];
+                }
+            }
+        };
     }
 
     /**
@@ -154,15 +278,60 @@ public interface Noise2D
      */
     default Noise2D lazyProduct(Noise2D other)
     {
-        return (x, y) -> {
-            final float value = Noise2D.this.noise(x, y);
-            return value == 0 ? 0 : value * other.noise(x, y);
+        final NoiseScratch scratch = new NoiseScratch(3, true);
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float y)
+            {
+                final float value = Noise2D.this.noise(x, y);
+                return value == 0 ? 0 : value * other.noise(x, y);
+            }
+
+            @Override
+            public void noise(float[] xs, float[] zs, float[] out, int count)
+            {
+                Noise2D.this.noise(xs, zs, out, count);
+
+                // Only evaluate the second noise at positions where the first is non-zero
+                final NoiseScratch.Buffers buffers = scratch.get(count);
+                final int[] indices = buffers.ints;
+                int nonZeroCount = 0;
+                for (int i = 0; i < count; i++)
+                {
+                    if (out[i] != 0)
+                    {
+                        indices[nonZeroCount++] = i;
+                    }
+                    else
+                    {
+                        out[i] = 0;
+                    }
+                }
+                if (nonZeroCount > 0)
+                {
+                    final float[] nonZeroXs = buffers.floats[0], nonZeroZs = buffers.floats[1], otherOut = buffers.floats[2];
+                    for (int i = 0; i < nonZeroCount; i++)
+                    {
+                        nonZeroXs[i] = xs[indices[i]];
+                        nonZeroZs[i] = zs[indices[i]];
+                    }
+                    other.noise(nonZeroXs, nonZeroZs, otherOut, nonZeroCount);
+                    for (int i = 0; i < nonZeroCount; i++)
+                    {
+                        out[indices[i]] *= otherOut[i];
+                    }
+                }
+            }
         };
     }
 
+    /**
+     * Applies a function to the output of this noise. This, and all other value transformations, are collected into a single flat {@link MappedNoise2D}.
+     */
     default Noise2D map(FloatOperator mappingFunction)
     {
-        return (x, y) -> mappingFunction.applyAsFloat(Noise2D.this.noise(x, y));
+        return MappedNoise2D.append(this, MappedNoise2D.MAP, 0, 0, mappingFunction);
     }
 
     @FunctionalInterface
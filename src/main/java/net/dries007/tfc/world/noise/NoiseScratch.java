@@ -0,0 +1,64 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+/**
+ * Per-thread scratch buffers for a single batched noise stage, which are only reallocated when a larger batch is requested.
+ * <p>
+ * Each stage must own its own instance, as stages nest: a stage's buffers are still in use while it evaluates its inputs. This is safe as a stage can never appear within its own inputs.
+ */
+final class NoiseScratch
+{
+    /**
+     * Used by {@link Noise2D#noiseGrid(int, int, int, int, float[])}, which is never called from within a batched noise evaluation.
+     */
+    static final NoiseScratch GRID = new NoiseScratch(2, false);
+
+    private final ThreadLocal<Buffers> buffers;
+
+    NoiseScratch(int floatArrays, boolean intArray)
+    {
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(floatArrays, intArray));
+    }
+
+    /**
+     * @return The scratch buffers for the current thread, each of which is at least {@code count} long.
+     */
+    Buffers get(int count)
+    {
+        final Buffers buffers = this.buffers.get();
+        buffers.ensureCapacity(count);
+        return buffers;
+    }
+
+    static final class Buffers
+    {
+        final float[][] floats;
+        int[] ints;
+
+        private Buffers(int floatArrays, boolean intArray)
+        {
+            this.floats = new float[floatArrays][0];
+            this.ints = intArray ? new int[0] : null;
+        }
+
+        private void ensureCapacity(int count)
+        {
+            for (int i = 0; i < floats.length; i++)
+            {
+                if (floats[i].length < count)
+                {
+                    floats[i] = new float[count];
+                }
+            }
+            if (ints != null && ints.length < count)
+            {
+                ints = new int[count];
+            }
+        }
+    }
+}
@@ -35,6 +35,15 @@ public class OpenSimplex2D implements Noise2D
         return midpoint + fnl.GetNoise(x, z) * amplitude;
     }
 
+    @Override
+    public void noise(float[] xs, float[] zs, float[] out, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            out[i] = midpoint + fnl.GetNoise(xs[i], zs[i]) * amplitude;
+        }
+    }
+
     @Override
     public OpenSimplex2D octaves(int octaves)
     {
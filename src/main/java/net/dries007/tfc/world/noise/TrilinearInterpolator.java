@@ -21,8 +21,8 @@ import net.minecraft.util.Mth;
  */
 public final class TrilinearInterpolator
 {
-    private final ChunkNoiseSamplingSettings settings;
     private final Source source;
+    private ChunkNoiseSamplingSettings settings;
 
     private double[][] slice0;
     private double[][] slice1;
@@ -32,11 +32,30 @@ public final class TrilinearInterpolator
 
     public TrilinearInterpolator(ChunkNoiseSamplingSettings settings, Source source)
     {
-        this.settings = settings;
+        this(source);
+        reset(settings);
+    }
+
+    /**
+     * Creates an interpolator which must be {@link #reset(ChunkNoiseSamplingSettings)} before use.
+     */
+    public TrilinearInterpolator(Source source)
+    {
         this.source = source;
+    }
 
-        this.slice0 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
-        this.slice1 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
+    /**
+     * Prepares this interpolator to be used for a new chunk, reusing the existing slices where possible.
+     */
+    public void reset(ChunkNoiseSamplingSettings settings)
+    {
+        final ChunkNoiseSamplingSettings previous = this.settings;
+        this.settings = settings;
+        if (previous == null || previous.cellCountY() != settings.cellCountY() || previous.cellCountXZ() != settings.cellCountXZ())
+        {
+            this.slice0 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
+            this.slice1 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
+        }
     }
 
     public void initializeForFirstCellX()
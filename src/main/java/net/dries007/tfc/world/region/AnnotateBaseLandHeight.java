@@ -34,27 +34,23 @@ public enum AnnotateBaseLandHeight implements RegionTask
             for (int dz = 0; dz < region.sizeZ(); dz++)
             {
                 final int index = dx + region.sizeX() * dz;
-                final Region.Point point = region.data()[index];
-                if (point != null && point.land())
+                if (region.exists(index) && region.land(index))
                 {
                     // Base land height is a simple approximation of inland-ness, but with influence from distance to the edge
                     // We use this to place mountains along contours
-                    point.baseLandHeight = point.distanceToOcean;
-                    if (point.baseLandHeight > point.distanceToEdge)
-                    {
-                        point.baseLandHeight = (byte) (0.3f * point.baseLandHeight + 0.7f * point.distanceToEdge);
-                    }
+                    final int distanceToOcean = region.distanceToOcean(index), distanceToEdge = region.distanceToEdge(index);
+                    region.setBaseLandHeight(index, distanceToOcean > distanceToEdge ? (byte) (0.3f * distanceToOcean + 0.7f * distanceToEdge) : distanceToOcean);
 
                     explored.set(index);
 
-                    if (point.island())
+                    if (region.island(index))
                     {
-                        point.baseOceanDepth = ISLAND_SEED_DEPTH;
+                        region.setBaseOceanDepth(index, ISLAND_SEED_DEPTH);
                         islandQueue.add(index);
                     }
                     else
                     {
-                        point.baseOceanDepth = 0;
+                        region.setBaseOceanDepth(index, 0);
                         queue.enqueue(index);
                     }
                 }
@@ -64,8 +60,8 @@ public enum AnnotateBaseLandHeight implements RegionTask
         while (!queue.isEmpty())
         {
             final int last = queue.dequeueInt();
-            final Region.Point lastPoint = region.data()[last];
-            final int nextDepth = lastPoint.baseOceanDepth + 1;
+            final int lastDepth = region.baseOceanDepth(last);
+            final int nextDepth = lastDepth + 1;
 
             if (nextDepth == ISLAND_SEED_DEPTH && !islandQueue.isEmpty())
             {
@@ -83,8 +79,7 @@ public enum AnnotateBaseLandHeight implements RegionTask
                     {
                         continue;
                     }
-                    final Region.Point point = region.data()[next];
-                    if (point != null && !point.land() && point.baseOceanDepth == 0)
+                    if (region.exists(next) && !region.land(next) && region.baseOceanDepth(next) == 0)
                     {
                         if (!explored.get(next))
                         {
@@ -92,12 +87,12 @@ public enum AnnotateBaseLandHeight implements RegionTask
                             {
                                 // Not a true BFS, we have some 'cheat' points
                                 // To preserve the nature of the BFS we enqueueFirst for these points, so they stay in the right batch
-                                point.baseOceanDepth = lastPoint.baseOceanDepth;
+                                region.setBaseOceanDepth(next, lastDepth);
                                 queue.enqueueFirst(next);
                             }
                             else
                             {
-                                point.baseOceanDepth = (byte) nextDepth;
+                                region.setBaseOceanDepth(next, nextDepth);
                                 queue.enqueue(next);
                             }
                         }
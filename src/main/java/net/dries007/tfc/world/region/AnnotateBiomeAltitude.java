@@ -37,10 +37,9 @@ public enum AnnotateBiomeAltitude implements RegionTask
             for (int dz = 0; dz < region.sizeZ(); dz++)
             {
                 final int index = dx + region.sizeX() * dz;
-                final Region.Point point = region.data()[index];
-                if (point != null && point.land() && point.mountain())
+                if (region.exists(index) && region.land(index) && region.mountain(index))
                 {
-                    point.biomeAltitude = 3 * WIDTH;
+                    region.setBiomeAltitude(index, 3 * WIDTH);
                     queue.enqueue(index);
                     explored.set(index);
                 }
@@ -50,8 +49,8 @@ public enum AnnotateBiomeAltitude implements RegionTask
         while (!queue.isEmpty())
         {
             final int last = queue.dequeueInt();
-            final Region.Point lastPoint = region.data()[last];
-            final int nextAltitude = lastPoint.biomeAltitude - 1;
+            final int lastAltitude = region.biomeAltitude(last);
+            final int nextAltitude = lastAltitude - 1;
             if (nextAltitude < 0)
             {
                 continue;
@@ -66,18 +65,17 @@ public enum AnnotateBiomeAltitude implements RegionTask
                     {
                         continue;
                     }
-                    final Region.Point point = region.data()[next];
-                    if (point != null && point.land() && point.biomeAltitude == 0 && !explored.get(next))
+                    if (region.exists(next) && region.land(next) && region.biomeAltitude(next) == 0 && !explored.get(next))
                     {
                         // Minor non-uniformity, makes regions a bit messier
-                        if (random.nextInt(13) == 0 && lastPoint.biomeAltitude != 3 * WIDTH)
+                        if (random.nextInt(13) == 0 && lastAltitude != 3 * WIDTH)
                         {
-                            point.biomeAltitude = lastPoint.biomeAltitude;
+                            region.setBiomeAltitude(next, lastAltitude);
                             queue.enqueueFirst(next);
                         }
                         else
                         {
-                            point.biomeAltitude = (byte) nextAltitude;
+                            region.setBiomeAltitude(next, nextAltitude);
                             queue.enqueue(next);
                         }
                     }
@@ -92,16 +90,15 @@ public enum AnnotateBiomeAltitude implements RegionTask
             for (int dz = 0; dz < region.sizeZ(); dz++)
             {
                 final int index = dx + region.sizeX() * dz;
-                final Region.Point point = region.data()[index];
-                if (point != null && point.land() && point.discreteBiomeAltitude() == 0 && point.baseLandHeight >= 4)
+                if (region.exists(index) && region.land(index) && region.discreteBiomeAltitude(index) == 0 && region.baseLandHeight(index) >= 4)
                 {
-                    if (point.discreteBiomeAltitude() == 0 && point.baseLandHeight >= 4)
+                    if (region.discreteBiomeAltitude(index) == 0 && region.baseLandHeight(index) >= 4)
                     {
-                        point.biomeAltitude = WIDTH;
+                        region.setBiomeAltitude(index, WIDTH);
                     }
-                    if (point.discreteBiomeAltitude() == 1 && point.baseLandHeight >= 11)
+                    if (region.discreteBiomeAltitude(index) == 1 && region.baseLandHeight(index) >= 11)
                     {
-                        point.biomeAltitude = 2 * WIDTH;
+                        region.setBiomeAltitude(index, 2 * WIDTH);
                     }
                 }
             }
@@ -8,49 +8,53 @@ package net.dries007.tfc.world.region;
 
 import net.minecraft.util.Mth;
 
-public enum AnnotateClimate implements RegionTask
+public enum AnnotateClimate implements PointLocalRegionTask
 {
     INSTANCE;
 
     @Override
-    public void apply(RegionGenerator.Context context)
+    public RowBand prepare(RegionGenerator.Context context)
     {
         final Region region = context.region;
-
-        for (int x = region.minX(); x < region.maxX(); x++)
-        {
-            for (int z = region.minZ(); z < region.maxZ(); z++)
+        return (minZ, maxZ) -> {
+            // Excludes the last row and column, in both directions
+            for (int dz = minZ; dz < Math.min(maxZ, region.sizeZ() - 1); dz++)
             {
-                final Region.Point point = region.maybeAt(x, z);
-                if (point != null)
+                for (int dx = 0; dx < region.sizeX() - 1; dx++)
                 {
-                    // Climate is seeded with a base value based on noise
-                    // This keeps the large-scale climate which we want
-                    point.temperature = context.generator().temperatureNoise.noise(x, z);
-                    point.rainfall = context.generator().rainfallNoise.noise(x, z);
-
-                    // [0, 1], where higher = more inland
-                    final float bias;
-                    if (point.land())
-                    {
-                        assert point.distanceToOcean >= 0;
-
-                        // Bias temperature by distance to ocean, using a basic rule:
-                        // Proximity to an ocean *increases* rainfall, and *normalizes* temperature, with the same bias in reverse.
-                        final float potentialBias = Mth.clampedMap(point.distanceToEdge, 2f, 6f, 0f, 1f);
-                        final float oceanProximityBias = Mth.clampedMap(point.distanceToOcean, 2f, 6f, 0f, 1f);
-
-                        bias = Math.min(potentialBias, oceanProximityBias);
-                    }
-                    else
+                    final int x = region.minX() + dx;
+                    final int z = region.minZ() + dz;
+                    final int index = dx + region.sizeX() * dz;
+                    if (region.exists(index))
                     {
-                        bias = 0;
+                        // Climate is seeded with a base value based on noise
+                        // This keeps the large-scale climate which we want
+                        final float temperature = context.generator().temperatureNoise.noise(x, z);
+                        final float rainfall = context.generator().rainfallNoise.noise(x, z);
+
+                        // [0, 1], where higher = more inland
+                        final float bias;
+                        if (region.land(index))
+                        {
+                            assert region.distanceToOcean(index) >= 0;
+
+                            // Bias temperature by distance to ocean, using a basic rule:
+                            // Proximity to an ocean *increases* rainfall, and *normalizes* temperature, with the same bias in reverse.
+                            final float potentialBias = Mth.clampedMap(region.distanceToEdge(index), 2f, 6f, 0f, 1f);
+                            final float oceanProximityBias = Mth.clampedMap(region.distanceToOcean(index), 2f, 6f, 0f, 1f);
+
+                            bias = Math.min(potentialBias, oceanProximityBias);
+                        }
+                        else
+                        {
+                            bias = 0;
+                        }
+
+                        region.setTemperature(index, 0.77f * temperature + 0.23f * Mth.lerp(bias, 5f, temperature));
+                        region.setRainfall(index, 0.85f * rainfall + 0.15f * Mth.lerp(bias, rainfall + 350f, rainfall));
                     }
-
-                    point.temperature = 0.77f * point.temperature + 0.23f * Mth.lerp(bias, 5f, point.temperature);
-                    point.rainfall = 0.85f * point.rainfall + 0.15f * Mth.lerp(bias, point.rainfall + 350f, point.rainfall);
                 }
             }
-        }
+        };
     }
 }
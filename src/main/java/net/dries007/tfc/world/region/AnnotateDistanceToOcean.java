@@ -25,10 +25,9 @@ public enum AnnotateDistanceToOcean implements RegionTask
             for (int dz = 0; dz < region.sizeZ(); dz++)
             {
                 final int index = dx + region.sizeX() * dz;
-                final Region.Point point = region.data()[index];
-                if (point != null && !point.land())
+                if (region.exists(index) && !region.land(index))
                 {
-                    point.distanceToOcean = -1;
+                    region.setDistanceToOcean(index, -1);
                     queue.enqueue(index);
                     explored.set(index);
                 }
@@ -38,8 +37,8 @@ public enum AnnotateDistanceToOcean implements RegionTask
         while (!queue.isEmpty())
         {
             final int last = queue.dequeueInt();
-            final Region.Point lastPoint = region.data()[last];
-            final int nextDistance = lastPoint.distanceToOcean + 1;
+            final boolean lastLand = region.land(last);
+            final int nextDistance = region.distanceToOcean(last) + 1;
 
             for (int dx = -1; dx <= 1; dx++)
             {
@@ -50,17 +49,16 @@ public enum AnnotateDistanceToOcean implements RegionTask
                     {
                         continue;
                     }
-                    final Region.Point point = region.data()[next];
-                    if (point != null && point.land() && point.distanceToOcean == 0)
+                    if (region.exists(next) && region.land(next) && region.distanceToOcean(next) == 0)
                     {
-                        if (!lastPoint.land() && !point.island())
+                        if (!lastLand && !region.island(next))
                         {
-                            lastPoint.setShore(); // Mark as adjacent to land
+                            region.setShore(last); // Mark as adjacent to land
                         }
 
                         if (!explored.get(next))
                         {
-                            point.distanceToOcean = (byte) nextDistance;
+                            region.setDistanceToOcean(next, nextDistance);
                             queue.enqueue(next);
                         }
                     }
@@ -11,7 +11,7 @@ import net.dries007.tfc.world.layer.framework.Area;
 
 import static net.dries007.tfc.world.layer.TFCLayers.*;
 
-public enum ChooseBiomes implements RegionTask
+public enum ChooseBiomes implements PointLocalRegionTask
 {
     INSTANCE;
 
@@ -24,63 +24,66 @@ public enum ChooseBiomes implements RegionTask
     private static final int[] MID_DEPTH_OCEAN_BIOMES = {DEEP_OCEAN, OCEAN, OCEAN, OCEAN_REEF, OCEAN_REEF, OCEAN_REEF};
 
     @Override
-    public void apply(RegionGenerator.Context context)
+    public RowBand prepare(RegionGenerator.Context context)
     {
         final Region region = context.region;
-        final Area blobArea = context.generator().biomeArea.get();
         final long rngSeed = context.random.nextLong();
 
-        for (int dx = 0; dx < region.sizeX(); dx++)
-        {
-            for (int dz = 0; dz < region.sizeZ(); dz++)
+        return (minZ, maxZ) -> {
+            final Area blobArea = context.generator().biomeArea.get(); // Thread local, so must be queried from the thread applying this band
+            for (int dz = minZ; dz < maxZ; dz++)
             {
-                final int index = dx + region.sizeX() * dz;
-                final Region.Point point = region.data()[index];
-                final int areaSeed = blobArea.get(region.minX() + dx, region.minZ() + dz);
-                if (point != null)
+                for (int dx = 0; dx < region.sizeX(); dx++)
                 {
-                    if (point.island())
+                    final int index = dx + region.sizeX() * dz;
+                    final int areaSeed = blobArea.get(region.minX() + dx, region.minZ() + dz);
+                    if (region.exists(index))
                     {
-                        point.biome = randomSeededFrom(rngSeed, areaSeed, ISLAND_BIOMES);
-                    }
-                    else if (point.mountain())
-                    {
-                        point.biome = randomSeededFrom(rngSeed, areaSeed, point.coastalMountain() ? OCEANIC_MOUNTAIN_ALTITUDE_BIOMES : MOUNTAIN_ALTITUDE_BIOMES);
-                    }
-                    else if (point.land())
-                    {
-                        point.biome = randomSeededFrom(rngSeed, areaSeed, switch (point.discreteBiomeAltitude()) {
-                            case 2 -> HIGH_ALTITUDE_BIOMES;
-                            case 1 -> MID_ALTITUDE_BIOMES;
-                            case 0 -> LOW_ALTITUDE_BIOMES;
-                            default -> throw new IllegalStateException("Invalid: " + point.discreteBiomeAltitude());
-                        });
-                    }
-                    else if (point.baseOceanDepth < 3)
-                    {
-                        point.biome = OCEAN;
-                    }
-                    else if (point.baseOceanDepth > 9)
-                    {
-                        point.biome = DEEP_OCEAN_TRENCH;
-                    }
-                    else if (point.baseOceanDepth >= 5 || point.distanceToEdge < 2)
-                    {
-                        point.biome = DEEP_OCEAN;
-                    }
-                    else
-                    {
-                        point.biome = randomSeededFrom(rngSeed, areaSeed, MID_DEPTH_OCEAN_BIOMES);
-                    }
+                        int biome;
+                        if (region.island(index))
+                        {
+                            biome = randomSeededFrom(rngSeed, areaSeed, ISLAND_BIOMES);
+                        }
+                        else if (region.mountain(index))
+                        {
+                            biome = randomSeededFrom(rngSeed, areaSeed, region.coastalMountain(index) ? OCEANIC_MOUNTAIN_ALTITUDE_BIOMES : MOUNTAIN_ALTITUDE_BIOMES);
+                        }
+                        else if (region.land(index))
+                        {
+                            biome = randomSeededFrom(rngSeed, areaSeed, switch (region.discreteBiomeAltitude(index)) {
+                                case 2 -> HIGH_ALTITUDE_BIOMES;
+                                case 1 -> MID_ALTITUDE_BIOMES;
+                                case 0 -> LOW_ALTITUDE_BIOMES;
+                                default -> throw new IllegalStateException("Invalid: " + region.discreteBiomeAltitude(index));
+                            });
+                        }
+                        else if (region.baseOceanDepth(index) < 3)
+                        {
+                            biome = OCEAN;
+                        }
+                        else if (region.baseOceanDepth(index) > 9)
+                        {
+                            biome = DEEP_OCEAN_TRENCH;
+                        }
+                        else if (region.baseOceanDepth(index) >= 5 || region.distanceToEdge(index) < 2)
+                        {
+                            biome = DEEP_OCEAN;
+                        }
+                        else
+                        {
+                            biome = randomSeededFrom(rngSeed, areaSeed, MID_DEPTH_OCEAN_BIOMES);
+                        }
 
-                    // Apply lakes
-                    if (point.lake() && TFCLayers.hasLake(point.biome))
-                    {
-                        point.biome = TFCLayers.lakeFor(point.biome);
+                        // Apply lakes
+                        if (region.lake(index) && TFCLayers.hasLake(biome))
+                        {
+                            biome = TFCLayers.lakeFor(biome);
+                        }
+                        region.setBiome(index, biome);
                     }
                 }
             }
-        }
+        };
     }
 
     private int randomSeededFrom(long rngSeed, int areaSeed, int[] choices)
@@ -0,0 +1,36 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.region;
+
+/**
+ * A {@link RegionTask} which, for each point, only reads and writes that point, and never its neighbors.
+ * These tasks can be split into bands of rows, which are applied concurrently.
+ */
+public interface PointLocalRegionTask extends RegionTask
+{
+    @Override
+    default void apply(RegionGenerator.Context context)
+    {
+        context.runInRowBands(prepare(context));
+    }
+
+    /**
+     * Prepares this task on the region generation thread. Any state shared between rows, for instance any values drawn from {@code context.random}, must be obtained here, in order for the result to not depend on how the rows are split.
+     *
+     * @return A function which applies this task to a band of rows.
+     */
+    RowBand prepare(RegionGenerator.Context context);
+
+    @FunctionalInterface
+    interface RowBand
+    {
+        /**
+         * Applies the task to all points with local z coordinates in {@code [minZ, maxZ)}. May be called concurrently for disjoint bands.
+         */
+        void apply(int minZ, int maxZ);
+    }
+}
@@ -13,8 +13,21 @@ import net.dries007.tfc.world.layer.TFCLayers;
 import net.dries007.tfc.world.noise.Cellular2D;
 import net.dries007.tfc.world.noise.FastNoiseLite;
 
+/**
+ * A region is stored as a structure of arrays: each property of a grid point is stored in its own primitive array, indexed by {@link #index(int, int)}.
+ * This keeps cached regions compact, and keeps the per-point loops of {@link RegionTask}s cache friendly.
+ * Grid points within the bounding box which are not part of this region are marked as not {@linkplain #exists(int) existing}.
+ */
 public final class Region
 {
+    static final short FLAG_EXISTS = 0b1;
+    static final short FLAG_LAND = 0b10;
+    static final short FLAG_ISLAND = 0b100;
+    static final short FLAG_RIVER = 0b1000;
+    static final short FLAG_LAKE = 0b10000;
+    static final short FLAG_MOUNTAIN = 0b100000;
+    static final short FLAG_COASTAL_MOUNTAIN = 0b1000000;
+
     private final float cellX;
     private final float cellY;
     private final float noise;
@@ -24,7 +37,19 @@ public final class Region
     private int maxZ;
     private int sizeX;
     private int sizeZ;
-    private Point[] data;
+
+    /** Distance to the nearest ocean. Note the actual distance may be lower if {@code distanceToEdge} is smaller than this. Negative values indicate an ocean, where {@code -2} indicates an ocean adjacent to land. */
+    private byte[] distanceToOcean;
+    /** Distance to the nearest edge of the region. This is important because certain tasks need to not go too near to the edge to avoid continuity issues */
+    private byte[] distanceToEdge;
+    private byte[] baseOceanDepth;
+    private byte[] baseLandHeight;
+    private byte[] biomeAltitude;
+    private float[] rainfall;
+    private float[] temperature;
+    private int[] biome;
+    private short[] flags;
+
     private @Nullable List<RiverEdge> rivers;
 
     public Region(Cellular2D.Cell cell)
@@ -44,35 +69,58 @@ public final class Region
         this.sizeX = 1 + maxX - minX;
         this.sizeZ = 1 + maxZ - minZ;
 
-        this.data = new Point[Units.REGION_WIDTH_IN_GRID * Units.REGION_WIDTH_IN_GRID];
+        allocate(Units.REGION_WIDTH_IN_GRID * Units.REGION_WIDTH_IN_GRID);
     }
 
-    public Point atInit(int gridX, int gridZ)
+    /**
+     * Marks the point at the specified grid coordinates as part of this region.
+     *
+     * @return The index of the point.
+     */
+    public int atInit(int gridX, int gridZ)
     {
         final int index = index(gridX, gridZ);
-        final Point point = new Point();
 
-        assert data[index] == null;
-        data[index] = point;
-        return point;
+        assert !exists(index);
+        flags[index] = FLAG_EXISTS;
+        biome[index] = TFCLayers.OCEAN;
+        return index;
     }
 
     /**
-     * @return The {@link Point} at the specified grid coordinates. Errors if the coordinates are out of range of this {@link Region}'s bounding box and returns {@code null} if they are outside this {@link Region}.
+     * @return A view of the {@link Point} at the specified grid coordinates. Errors if the coordinates are out of range of this {@link Region}'s bounding box and returns {@code null} if they are outside this {@link Region}.
      */
     @Nullable
     public Point at(int gridX, int gridZ)
     {
-        return data[index(gridX, gridZ)];
+        final int index = index(gridX, gridZ);
+        return exists(index) ? new Point(this, index) : null;
     }
 
     /**
-     * @return The {@link Point} at the specified grid coordinates. Returns {@code null} if the coordinates are out of range of this {@link Region}'s bounding box or outside this {@link Region}.
+     * @return A view of the {@link Point} at the specified grid coordinates. Returns {@code null} if the coordinates are out of range of this {@link Region}'s bounding box or outside this {@link Region}.
      */
     @Nullable
     public Point maybeAt(int gridX, int gridZ)
     {
-        return isIn(gridX, gridZ) ? data[index(gridX, gridZ)] : null;
+        final int index = maybeIndexAt(gridX, gridZ);
+        return index != -1 ? new Point(this, index) : null;
+    }
+
+    /**
+     * @return The index of the point at the specified grid coordinates. Returns {@code -1} if the coordinates are out of range of this {@link Region}'s bounding box or outside this {@link Region}.
+     */
+    public int maybeIndexAt(int gridX, int gridZ)
+    {
+        if (isIn(gridX, gridZ))
+        {
+            final int index = index(gridX, gridZ);
+            if (exists(index))
+            {
+                return index;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -84,7 +132,7 @@ public final class Region
     }
 
     /**
-     * @return An index into {@link #data()}, based on the target index, plus a coordinate offset of {@code (offsetX, offsetZ)}. Returns {@code -1} if this is out of this {@link Region}'s bounding box.
+     * @return An index into this region, based on the target index, plus a coordinate offset of {@code (offsetX, offsetZ)}. Returns {@code -1} if this is out of this {@link Region}'s bounding box.
      */
     public int offset(int index, int offsetX, int offsetZ)
     {
@@ -94,7 +142,7 @@ public final class Region
     }
 
     /**
-     * @return An index into {@link #data()}, based on the global grid coordinates.
+     * @return An index into this region, based on the global grid coordinates.
      */
     public int index(int gridX, int gridZ)
     {
@@ -115,9 +163,58 @@ public final class Region
     public int sizeX() { return sizeX; }
     public int sizeZ() { return sizeZ; }
 
-    void setRegionArea(Point[] data, int minX, int minZ, int maxX, int maxZ)
+    /** @return {@code true} if the point at {@code index} is part of this region. */
+    public boolean exists(int index) { return (flags[index] & FLAG_EXISTS) != 0; }
+
+    public boolean land(int index) { return (flags[index] & FLAG_LAND) != 0; }
+    public boolean island(int index) { return (flags[index] & FLAG_ISLAND) != 0; }
+    public boolean shore(int index) { return distanceToOcean[index] == -2; }
+    public boolean river(int index) { return (flags[index] & FLAG_RIVER) != 0; }
+    public boolean lake(int index) { return (flags[index] & FLAG_LAKE) != 0; }
+    public boolean mountain(int index) { return (flags[index] & FLAG_MOUNTAIN) != 0; }
+    public boolean coastalMountain(int index) { return (flags[index] & FLAG_COASTAL_MOUNTAIN) != 0; }
+
+    public void setLand(int index) { flags[index] |= FLAG_LAND; }
+    public void setIsland(int index) { flags[index] |= FLAG_ISLAND; }
+    public void setShore(int index) { distanceToOcean[index] = -2; }
+    public void setRiver(int index) { flags[index] |= FLAG_RIVER; }
+    public void setLake(int index) { flags[index] |= FLAG_LAKE; }
+    public void setMountain(int index) { flags[index] |= FLAG_MOUNTAIN; }
+    public void setCoastalMountain(int index) { flags[index] |= FLAG_COASTAL_MOUNTAIN; }
+
+    public int distanceToOcean(int index) { return distanceToOcean[index]; }
+    public int distanceToEdge(int index) { return distanceToEdge[index]; }
+    public int baseOceanDepth(int index) { return baseOceanDepth[index]; }
+    public int baseLandHeight(int index) { return baseLandHeight[index]; }
+    public int biomeAltitude(int index) { return biomeAltitude[index]; }
+    public int discreteBiomeAltitude(int index) { return Math.floorDiv(biomeAltitude[index], AnnotateBiomeAltitude.WIDTH); }
+    public float rainfall(int index) { return rainfall[index]; }
+    public float temperature(int index) { return temperature[index]; }
+    public int biome(int index) { return biome[index]; }
+
+    public void setDistanceToOcean(int index, int value) { distanceToOcean[index] = (byte) value; }
+    public void setDistanceToEdge(int index, int value) { distanceToEdge[index] = (byte) value; }
+    public void setBaseOceanDepth(int index, int value) { baseOceanDepth[index] = (byte) value; }
+    public void setBaseLandHeight(int index, int value) { baseLandHeight[index] = (byte) value; }
+    public void setBiomeAltitude(int index, int value) { biomeAltitude[index] = (byte) value; }
+    public void setRainfall(int index, float value) { rainfall[index] = value; }
+    public void setTemperature(int index, float value) { temperature[index] = value; }
+    public void setBiome(int index, int value) { biome[index] = value; }
+
+    /**
+     * Shrinks the bounding box of this region, copying all data within the new bounding box.
+     */
+    void setRegionArea(int minX, int minZ, int maxX, int maxZ)
     {
-        this.data = data;
+        final int prevSizeX = this.sizeX;
+        final int offsetX = minX - this.minX;
+        final int offsetZ = minZ - this.minZ;
+
+        final byte[] prevDistanceToOcean = distanceToOcean, prevDistanceToEdge = distanceToEdge, prevBaseOceanDepth = baseOceanDepth, prevBaseLandHeight = baseLandHeight, prevBiomeAltitude = biomeAltitude;
+        final float[] prevRainfall = rainfall, prevTemperature = temperature;
+        final int[] prevBiome = biome;
+        final short[] prevFlags = flags;
+
         this.minX = minX;
         this.minZ = minZ;
         this.maxX = maxX;
@@ -125,7 +222,24 @@ public final class Region
         this.sizeX = 1 + maxX - minX;
         this.sizeZ = 1 + maxZ - minZ;
 
-        assert data.length == sizeX * sizeZ : "setRegionArea() data.length = %d != sizeX (%d) * sizeZ (%d)".formatted(data.length, sizeX, sizeZ);
+        allocate(sizeX * sizeZ);
+
+        for (int dz = 0; dz < sizeZ; dz++)
+        {
+            // Copy rows at a time, as both old and new data are laid out with x as the fastest varying coordinate
+            final int from = offsetX + prevSizeX * (offsetZ + dz);
+            final int to = sizeX * dz;
+
+            System.arraycopy(prevDistanceToOcean, from, distanceToOcean, to, sizeX);
+            System.arraycopy(prevDistanceToEdge, from, distanceToEdge, to, sizeX);
+            System.arraycopy(prevBaseOceanDepth, from, baseOceanDepth, to, sizeX);
+            System.arraycopy(prevBaseLandHeight, from, baseLandHeight, to, sizeX);
+            System.arraycopy(prevBiomeAltitude, from, biomeAltitude, to, sizeX);
+            System.arraycopy(prevRainfall, from, rainfall, to, sizeX);
+            System.arraycopy(prevTemperature, from, temperature, to, sizeX);
+            System.arraycopy(prevBiome, from, biome, to, sizeX);
+            System.arraycopy(prevFlags, from, flags, to, sizeX);
+        }
     }
 
     void setRivers(List<RiverEdge> rivers)
@@ -134,8 +248,6 @@ public final class Region
         this.rivers = rivers;
     }
 
-
-    public Point[] data() { return data; }
     public List<RiverEdge> rivers() { assert rivers != null; return rivers; }
 
     @Override
@@ -144,46 +256,41 @@ public final class Region
         return "Region [%d, %d] x [%d, %d] at cell (%f, %f)".formatted(minX, maxX, minZ, maxZ, cellX, cellY);
     }
 
-    public static class Point
+    private void allocate(int size)
+    {
+        this.distanceToOcean = new byte[size];
+        this.distanceToEdge = new byte[size];
+        this.baseOceanDepth = new byte[size];
+        this.baseLandHeight = new byte[size];
+        this.biomeAltitude = new byte[size];
+        this.rainfall = new float[size];
+        this.temperature = new float[size];
+        this.biome = new int[size];
+        this.flags = new short[size];
+    }
+
+    /**
+     * A read-only view of a single point within a {@link Region}, for consumers outside of region generation.
+     */
+    public record Point(Region region, int index)
     {
-        static final short FLAG_LAND = 0b1;
-        static final short FLAG_ISLAND = 0b10;
-        static final short FLAG_RIVER = 0b100;
-        static final short FLAG_LAKE = 0b1000;
-        static final short FLAG_MOUNTAIN = 0b10000;
-        static final short FLAG_COASTAL_MOUNTAIN = 0b100000;
-
-        /** Distance to the nearest ocean. Note the actual distance may be lower if {@code distanceToEdge} is smaller than this. Negative values indicate an ocean, where {@code -2} indicates an ocean adjacent to land. */
-        public byte distanceToOcean = 0;
-        /** Distance to the nearest edge of the region. This is important because certain tasks need to not go too near to the edge to avoid continuity issues */
-        public byte distanceToEdge = 0;
-        public byte baseOceanDepth = 0;
-        public byte baseLandHeight = 0;
-        public byte biomeAltitude = 0;
-
-        public float rainfall;
-        public float temperature;
-
-        public int biome = TFCLayers.OCEAN;
-
-        private short flags;
-
-        public boolean land() { return (flags & FLAG_LAND) != 0; }
-        public boolean island() { return (flags & FLAG_ISLAND) != 0; }
-        public boolean shore() { return distanceToOcean == -2; }
-        public boolean river() { return (flags & FLAG_RIVER) != 0; }
-        public boolean lake() { return (flags & FLAG_LAKE) != 0; }
-        public boolean mountain() { return (flags & FLAG_MOUNTAIN) != 0; }
-        public boolean coastalMountain() { return (flags & FLAG_COASTAL_MOUNTAIN) != 0; }
-
-        public int discreteBiomeAltitude() { return Math.floorDiv(biomeAltitude, AnnotateBiomeAltitude.WIDTH); }
-
-        public void setLand() { flags |= FLAG_LAND; }
-        public void setIsland() { flags |= FLAG_ISLAND; }
-        public void setShore() { distanceToOcean = -2; }
-        public void setRiver() { flags |= FLAG_RIVER; }
-        public void setLake() { flags |= FLAG_LAKE; }
-        public void setMountain() { flags |= FLAG_MOUNTAIN; }
-        public void setCoastalMountain() { flags |= FLAG_COASTAL_MOUNTAIN; }
+        public byte distanceToOcean() { return (byte) region.distanceToOcean(index); }
+        public byte distanceToEdge() { return (byte) region.distanceToEdge(index); }
+        public byte baseOceanDepth() { return (byte) region.baseOceanDepth(index); }
+        public byte baseLandHeight() { return (byte) region.baseLandHeight(index); }
+        public byte biomeAltitude() { return (byte) region.biomeAltitude(index); }
+        public float rainfall() { return region.rainfall(index); }
+        public float temperature() { return region.temperature(index); }
+        public int biome() { return region.biome(index); }
+
+        public boolean land() { return region.land(index); }
+        public boolean island() { return region.island(index); }
+        public boolean shore() { return region.shore(index); }
+        public boolean river() { return region.river(index); }
+        public boolean lake() { return region.lake(index); }
+        public boolean mountain() { return region.mountain(index); }
+        public boolean coastalMountain() { return region.coastalMountain(index); }
+
+        public int discreteBiomeAltitude() { return region.discreteBiomeAltitude(index); }
     }
 }
@@ -9,12 +9,14 @@ package net.dries007.tfc.world.region;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.levelgen.RandomSource;
 import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
 import org.jetbrains.annotations.TestOnly;
 
-import net.dries007.tfc.world.FastConcurrentCache;
+import net.dries007.tfc.world.LockFreeCache;
+import net.dries007.tfc.world.SingleFlightCache;
 import net.dries007.tfc.world.layer.PLayers;
 import net.dries007.tfc.world.layer.framework.Area;
 import net.dries007.tfc.world.layer.framework.AreaFactory;
@@ -23,10 +25,13 @@ import net.dries007.tfc.world.noise.Noise2D;
 import net.dries007.tfc.world.noise.OpenSimplex2D;
 
 /**
- * This is a single-instance, threadsafe (accessible from multiple threads concurrently), generator. As such, all query-able fields of this class need to support concurrent access, either by being concurrent i.e. {@link FastConcurrentCache}, thread local {@link ThreadLocal}, or immutable / stateless i.e. {@link Noise2D}
+ * This is a single-instance, threadsafe (accessible from multiple threads concurrently), generator. As such, all query-able fields of this class need to support concurrent access, either by being concurrent i.e. {@link LockFreeCache} or {@link SingleFlightCache}, thread local {@link ThreadLocal}, or immutable / stateless i.e. {@link Noise2D}
  */
 public class RegionGenerator
 {
+    private static final int ROW_BANDS = Math.min(8, Runtime.getRuntime().availableProcessors()); // Maximum number of bands to split point-local tasks into
+    private static final int MIN_ROWS_PER_BAND = 16;
+
     private static float triangle(float frequency, float value)
     {
         return Math.abs(4f * frequency * value + 1f - 4f * Mth.floor(frequency * value + 0.75f)) - 1f;
@@ -40,8 +45,8 @@ public class RegionGenerator
     final ThreadLocal<Area> rockArea;
 
     private final long seed;
-    private final FastConcurrentCache<Region> cellCache;
-    private final FastConcurrentCache<RegionPartition> partitionCache;
+    private final SingleFlightCache<Region> cellCache;
+    private final SingleFlightCache<RegionPartition> partitionCache;
 
     private final Cellular2D cellNoise;
 
@@ -54,8 +59,9 @@ public class RegionGenerator
 
         // Both of these caches are queried, and cached, on a cell-coordinate basis
         // Since cells are large (~12km), a small concurrent cache should be enough
-        this.cellCache = new FastConcurrentCache<>(256);
-        this.partitionCache = new FastConcurrentCache<>(256);
+        // When a new cell is entered, every generation thread will miss at once, so only one of them computes the region, and the rest wait on it
+        this.cellCache = new SingleFlightCache<>(256, true);
+        this.partitionCache = new SingleFlightCache<>(256, true);
 
         this.continentNoise = cellNoise.then(c -> 1 - c.f1() / (0.37f + c.f2()))
             .lazyProduct(new OpenSimplex2D(random.nextLong())
@@ -89,13 +95,23 @@ public class RegionGenerator
         final int cellX = Units.gridToCell(gridX);
         final int cellZ = Units.gridToCell(gridZ);
 
-        RegionPartition entry = partitionCache.getIfPresent(cellX, cellZ);
-        if (entry == null)
-        {
-            entry = createPartition(cellX, cellZ);
-            partitionCache.set(cellX, cellZ, entry);
-        }
-        return entry;
+        return partitionCache.getOrCreate(cellX, cellZ, () -> createPartition(cellX, cellZ));
+    }
+
+    /**
+     * @return The number of regions and partitions which were requested by a thread while already being generated by another, and so were not generated twice.
+     */
+    public long getDeduplicatedGenerationCount()
+    {
+        return cellCache.deduplicated() + partitionCache.deduplicated();
+    }
+
+    /**
+     * @return The number of regions and partitions which have been generated.
+     */
+    public long getGenerationCount()
+    {
+        return cellCache.computed() + partitionCache.computed();
     }
 
     private RegionPartition createPartition(int cellX, int cellZ)
@@ -146,13 +162,7 @@ public class RegionGenerator
         final int cellX = Float.floatToIntBits(cell.x());
         final int cellZ = Float.floatToIntBits(cell.y());
 
-        Region entry = cellCache.getIfPresent(cellX, cellZ);
-        if (entry == null)
-        {
-            entry = createRegion(cell, (id, r) -> {});
-            cellCache.set(cellX, cellZ, entry);
-        }
-        return entry;
+        return cellCache.getOrCreate(cellX, cellZ, () -> createRegion(cell, (id, r) -> {}));
     }
 
     private Region createRegion(Cellular2D.Cell regionCell, BiConsumer<Task, Region> viewer)
@@ -242,5 +252,22 @@ public class RegionGenerator
         {
             return RegionGenerator.this;
         }
+
+        /**
+         * Applies a {@link PointLocalRegionTask} over all rows of the region. Rows are split into bands, which are applied in parallel, as region generation blocks the first chunks which need it.
+         */
+        void runInRowBands(PointLocalRegionTask.RowBand task)
+        {
+            final int rows = region.sizeZ();
+            final int bands = Math.min(ROW_BANDS, Math.max(1, rows / MIN_ROWS_PER_BAND));
+            if (bands == 1)
+            {
+                task.apply(0, rows);
+                return;
+            }
+            IntStream.range(0, bands)
+                .parallel()
+                .forEach(band -> task.apply(rows * band / bands, rows * (band + 1) / bands));
+        }
     }
 }
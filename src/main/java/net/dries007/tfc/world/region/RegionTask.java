@@ -6,6 +6,10 @@
 
 package net.dries007.tfc.world.region;
 
+/**
+ * A single stage of region generation. Tasks are run in order, on the thread generating the region, and may read from and modify any point in the region.
+ * Tasks which only need to access the point they are modifying should implement {@link PointLocalRegionTask}, which allows them to be applied in parallel.
+ */
 public interface RegionTask
 {
     void apply(RegionGenerator.Context context);
@@ -20,7 +20,7 @@ import net.minecraft.world.level.levelgen.RandomSource;
 import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
 import org.jetbrains.annotations.VisibleForTesting;
 
-import net.dries007.tfc.world.FastConcurrentCache;
+import net.dries007.tfc.world.LockFreeCache;
 import net.dries007.tfc.world.layer.Plate;
 import net.dries007.tfc.world.layer.framework.TypedArea;
 import net.dries007.tfc.world.layer.framework.TypedAreaFactory;
@@ -207,8 +207,8 @@ public abstract class Watershed
         private static final int PARTITION_TO_ZOOM_BITS = ZOOM_BITS - PARTITION_BITS;
 
         private final ThreadLocal<TypedArea<Plate>> plates;
-        private final FastConcurrentCache<Watershed> watershedCache;
-        private final FastConcurrentCache<List<MidpointFractal>> partitionCache;
+        private final LockFreeCache<Watershed> watershedCache;
+        private final LockFreeCache<List<MidpointFractal>> partitionCache;
 
         private final long seed;
         private final float sourceChance;
@@ -219,8 +219,8 @@ public abstract class Watershed
         public Context(TypedAreaFactory<Plate> plates, long seed, float sourceChance, float length, int depth, float feather)
         {
             this.plates = ThreadLocal.withInitial(plates);
-            this.watershedCache = new FastConcurrentCache<>(1 << WATERSHED_CACHE_BITS);
-            this.partitionCache = new FastConcurrentCache<>(1 << PARTITION_CACHE_BITS);
+            this.watershedCache = new LockFreeCache<>(1 << WATERSHED_CACHE_BITS, true);
+            this.partitionCache = new LockFreeCache<>(1 << PARTITION_CACHE_BITS);
             this.seed = seed;
             this.sourceChance = sourceChance;
             this.length = length;
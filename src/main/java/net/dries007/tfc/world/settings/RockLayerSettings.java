@@ -15,10 +15,14 @@ import com.google.common.collect.ImmutableMap;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.world.Codecs;
 
@@ -77,7 +81,9 @@ public class RockLayerSettings
 
     private final Map<ResourceLocation, RockSettings> rocksById;
     private final List<RockSettings> rocks;
+    private final Object2IntMap<RockSettings> rockIds; // Index into rocks
     private final Map<Block, RockSettings> rockBlocks;
+    private final Set<BlockState> rawRockStates; // Identity set
     private final Map<Block, Block> rawToHardened;
     private final int rockLayerScale; // In [0, 32]
 
@@ -89,6 +95,12 @@ public class RockLayerSettings
             .sorted(Map.Entry.comparingByKey())
             .map(Map.Entry::getValue)
             .toList();
+        this.rockIds = new Object2IntOpenHashMap<>();
+        this.rockIds.defaultReturnValue(-1);
+        for (int i = 0; i < rocks.size(); i++)
+        {
+            rockIds.putIfAbsent(rocks.get(i), i);
+        }
         this.rockBlocks = new IdentityHashMap<>();
         this.rockLayerScale = rockLayerScale;
 
@@ -105,6 +117,12 @@ public class RockLayerSettings
             rock.spike().ifPresent(spike -> rockBlocks.put(spike, rock));
         }
 
+        this.rawRockStates = new ReferenceOpenHashSet<>();
+        for (RockSettings rock : rocks)
+        {
+            rawRockStates.add(rock.raw().defaultBlockState());
+        }
+
         this.rawToHardened = getRocks()
             .stream()
             .collect(Collectors.toMap(RockSettings::raw, RockSettings::hardened));
@@ -116,6 +134,14 @@ public class RockLayerSettings
         return rawToHardened.get(raw);
     }
 
+    /**
+     * @return {@code true} if the state is the default state of any raw rock block, i.e. the state which rock layers are generated with.
+     */
+    public boolean isRawRockState(BlockState state)
+    {
+        return rawRockStates.contains(state);
+    }
+
     @Nullable
     public RockSettings getRock(Block block)
     {
@@ -137,6 +163,14 @@ public class RockLayerSettings
         return rocks;
     }
 
+    /**
+     * @return The index of {@code rock} in {@link #getRocks()}, or -1 if not present. Equivalent to {@code getRocks().indexOf(rock)}, but constant time.
+     */
+    public int getRockId(RockSettings rock)
+    {
+        return rockIds.getInt(rock);
+    }
+
     public List<RockSettings> getRocksForLayer(RockLayer layer)
     {
         return rocks
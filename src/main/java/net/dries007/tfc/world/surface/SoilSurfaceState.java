@@ -115,7 +115,7 @@ public class SoilSurfaceState implements SurfaceState
         @Override
         public void setState(SurfaceBuilderContext context)
         {
-            context.chunk().setBlockState(context.pos(), getState(context), false);
+            context.setBlockState(getState(context));
             context.chunk().markPosForPostprocessing(context.pos());
         }
     }
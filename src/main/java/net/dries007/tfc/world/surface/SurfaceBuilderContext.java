@@ -6,8 +6,6 @@
 
 package net.dries007.tfc.world.surface;
 
-import java.util.Set;
-
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.BlockPos;
@@ -17,16 +15,20 @@ import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.ProtoChunk;
 import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.world.level.levelgen.RandomSource;
 
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.dries007.tfc.world.chunkdata.ChunkData;
 import net.dries007.tfc.world.chunkdata.RockData;
 import net.dries007.tfc.world.settings.RockLayerSettings;
 import net.dries007.tfc.world.settings.RockSettings;
 import net.dries007.tfc.world.surface.builder.SurfaceBuilder;
 
+/**
+ * Surface builders read and write one column at a time. Blocks are accessed directly through the chunk sections, rather than {@link ChunkAccess#setBlockState(BlockPos, BlockState, boolean)}, and the world generation heightmaps are updated once per column, after it has been built.
+ */
 public class SurfaceBuilderContext
 {
     private final LevelAccessor level;
@@ -38,10 +40,12 @@ public class SurfaceBuilderContext
     private final int seaLevel;
     private final int minY;
 
-    private final Set<BlockState> defaultBlockStates;
-    private final Set<BlockState> defaultFluidStates;
+    private final RockLayerSettings rockLayerSettings;
+    private final BlockState defaultFluidState;
+    private final Heightmap oceanFloorHeightmap, worldSurfaceHeightmap;
 
     private final BlockPos.MutableBlockPos cursor;
+    private int columnMaxY; // The highest y modified in the current column
 
     @Nullable private Biome biome;
     private double biomeWeight;
@@ -61,16 +65,12 @@ public class SurfaceBuilderContext
         this.seaLevel = seaLevel;
         this.minY = minY;
 
-        this.defaultBlockStates = new ObjectOpenHashSet<>();
-        this.defaultFluidStates = new ObjectOpenHashSet<>();
+        this.rockLayerSettings = rockLayerSettings;
+        this.defaultFluidState = Blocks.WATER.defaultBlockState();
+        this.oceanFloorHeightmap = chunk.getOrCreateHeightmapUnprimed(Heightmap.Types.OCEAN_FLOOR_WG);
+        this.worldSurfaceHeightmap = chunk.getOrCreateHeightmapUnprimed(Heightmap.Types.WORLD_SURFACE_WG);
 
         this.cursor = new BlockPos.MutableBlockPos();
-
-        for (RockSettings rock : rockLayerSettings.getRocks())
-        {
-            defaultBlockStates.add(rock.raw().defaultBlockState());
-        }
-        defaultFluidStates.add(Blocks.WATER.defaultBlockState());
     }
 
     public void buildSurface(Biome biome, double biomeWeight, boolean salty, SurfaceBuilder builder, int x, int y, int z, double slope)
@@ -87,7 +87,14 @@ public class SurfaceBuilderContext
         final int actualMinSurfaceHeight = Math.max(minY, Math.min(y, oceanFloor) - 20); // Iterate down to at least the ocean floor and below
 
         cursor.set(x, 0, z);
+        columnMaxY = Integer.MIN_VALUE;
         builder.buildSurface(this, y, actualMinSurfaceHeight);
+
+        if (columnMaxY != Integer.MIN_VALUE)
+        {
+            updateHeightmap(oceanFloorHeightmap, x & 15, z & 15);
+            updateHeightmap(worldSurfaceHeightmap, x & 15, z & 15);
+        }
     }
 
     public Biome biome()
@@ -143,7 +150,12 @@ public class SurfaceBuilderContext
 
     public BlockState getBlockState(int y)
     {
-        return chunk.getBlockState(cursor.setY(y));
+        cursor.setY(y);
+        if (chunk.isOutsideBuildHeight(y))
+        {
+            return Blocks.VOID_AIR.defaultBlockState();
+        }
+        return chunk.getSection(chunk.getSectionIndex(y)).getBlockState(cursor.getX() & 15, y & 15, cursor.getZ() & 15);
     }
 
     public void setBlockState(int y, SurfaceState state)
@@ -154,7 +166,29 @@ public class SurfaceBuilderContext
 
     public void setBlockState(int y, BlockState state)
     {
-        chunk.setBlockState(cursor.setY(y), state, false);
+        cursor.setY(y);
+        setBlockState(state);
+    }
+
+    /**
+     * Sets the block state at the current position.
+     */
+    public void setBlockState(BlockState state)
+    {
+        final int y = cursor.getY();
+        if (chunk.isOutsideBuildHeight(y))
+        {
+            return;
+        }
+
+        // Surfaces are built after the chunk sections are released, on a single thread, so no locking is needed
+        final LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(y));
+        section.setBlockState(cursor.getX() & 15, y & 15, cursor.getZ() & 15, state, false);
+        if (state.getLightEmission() != 0 && chunk instanceof ProtoChunk protoChunk)
+        {
+            protoChunk.addLight(cursor.immutable());
+        }
+        columnMaxY = Math.max(columnMaxY, y);
     }
 
     public LevelAccessor level()
@@ -194,12 +228,12 @@ public class SurfaceBuilderContext
 
     public boolean isDefaultBlock(BlockState state)
     {
-        return defaultBlockStates.contains(state);
+        return rockLayerSettings.isRawRockState(state);
     }
 
     public boolean isDefaultFluid(BlockState state)
     {
-        return defaultFluidStates.contains(state);
+        return state == defaultFluidState;
     }
 
     public int calculateAltitudeSlopeSurfaceDepth(int y, int maxDepth, double falloff, int minimumReturnValue)
@@ -226,4 +260,17 @@ public class SurfaceBuilderContext
 
         return Mth.clamp((int) Mth.lerp(slopeFactor * altitudeFactor, minimumReturnValue, maxDepth), minimumReturnValue, maxDepth);
     }
+
+    /**
+     * Brings a heightmap up to date with all blocks set in the current column, as if each had been set through the chunk.
+     * Heightmaps only change if a block at or above the top block is modified, so it is sufficient to replay updates from the highest modified block down to the current top.
+     */
+    private void updateHeightmap(Heightmap heightmap, int localX, int localZ)
+    {
+        final int topY = heightmap.getFirstAvailable(localX, localZ) - 1;
+        for (int y = columnMaxY; y >= topY; y--)
+        {
+            heightmap.update(localX, y, localZ, getBlockState(y));
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.blocks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.gametest.GameTestHolder;
+import org.slf4j.Logger;
+
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.util.MultiBlock;
+
+/**
+ * Timings for {@link MultiBlock}. These never fail, and only log their results, the correctness checks are in {@link MultiBlockTests}.
+ */
+@GameTestHolder
+public class MultiBlockBenchmarks
+{
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Predicate<BlockState> STONE = state -> state.is(Blocks.STONE);
+
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    /**
+     * Times a multiblock against the equivalent chain of predicates, as multiblocks were evaluated before they were compiled.
+     */
+    @MyTest
+    public void benchmarkMultiBlockAgainstPredicateChain(GameTestHelper helper)
+    {
+        // The same structure as MultiBlockTests, a ring of stone, around and below an empty center, like a bloomery chimney
+        for (int x = 1; x <= 3; x++)
+        {
+            for (int z = 1; z <= 3; z++)
+            {
+                helper.setBlock(x, 1, z, Blocks.STONE);
+                if (x != 2 || z != 2)
+                {
+                    helper.setBlock(x, 2, z, Blocks.STONE);
+                }
+            }
+        }
+
+        final BiPredicate<LevelAccessor, BlockPos> skyMatcher = LevelAccessor::canSeeSky;
+        final MultiBlock multiBlock = new MultiBlock()
+            .match(BlockPos.ZERO, BlockState::isAir)
+            .matchHorizontal(BlockPos.ZERO, STONE, 1)
+            .match(BlockPos.ZERO.below(), STONE)
+            .matchOneOf(BlockPos.ZERO.above(), new MultiBlock()
+                .match(BlockPos.ZERO, skyMatcher)
+                .matchHorizontal(BlockPos.ZERO, skyMatcher, 1));
+
+        final MultiBlockTests.PredicateChain chain = new MultiBlockTests.PredicateChain()
+            .match(BlockPos.ZERO, BlockState::isAir)
+            .matchHorizontal(BlockPos.ZERO, STONE, 1)
+            .match(BlockPos.ZERO.below(), STONE)
+            .matchOneOf(BlockPos.ZERO.above(), new MultiBlockTests.PredicateChain()
+                .match(BlockPos.ZERO, skyMatcher)
+                .matchHorizontal(BlockPos.ZERO, skyMatcher, 1));
+
+        final List<BlockPos> positions = new ArrayList<>();
+        for (BlockPos pos : BlockPos.betweenClosed(helper.absolutePos(new BlockPos(0, 0, 0)), helper.absolutePos(new BlockPos(4, 4, 4))))
+        {
+            positions.add(pos.immutable());
+        }
+
+        // Warm up both, then time them
+        final int iterations = 200;
+        final long[] nanos = new long[2];
+        int matched = 0;
+        for (int run = 0; run < 2; run++)
+        {
+            final long start = System.nanoTime();
+            matched += count(helper, multiBlock, positions, iterations);
+            final long middle = System.nanoTime();
+            matched += count(helper, chain, positions, iterations);
+            nanos[0] = middle - start;
+            nanos[1] = System.nanoTime() - middle;
+        }
+
+        final int tests = iterations * positions.size();
+        LOGGER.info("MultiBlock: {} ns / test, predicate chain: {} ns / test, over {} tests ({} matched)", String.format("%.1f", (double) nanos[0] / tests), String.format("%.1f", (double) nanos[1] / tests), tests, matched); // Logging the count ensures the results are used
+        helper.succeed();
+    }
+
+    private static int count(GameTestHelper helper, BiPredicate<LevelAccessor, BlockPos> predicate, List<BlockPos> positions, int iterations)
+    {
+        int matched = 0;
+        for (int i = 0; i < iterations; i++)
+        {
+            for (BlockPos pos : positions)
+            {
+                if (predicate.test(helper.getLevel(), pos))
+                {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.blocks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.gametest.GameTestHolder;
+
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.util.MultiBlock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GameTestHolder
+public class MultiBlockTests
+{
+    private static final Predicate<BlockState> STONE = state -> state.is(Blocks.STONE);
+
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    /**
+     * Compares a multiblock against the equivalent chain of predicates, as multiblocks were evaluated before they were compiled.
+     */
+    @MyTest(unitTest = true)
+    public void testMultiBlockMatchesPredicateChain(GameTestHelper helper)
+    {
+        // A ring of stone, around and below an empty center, like a bloomery chimney
+        for (int x = 1; x <= 3; x++)
+        {
+            for (int z = 1; z <= 3; z++)
+            {
+                helper.setBlock(x, 1, z, Blocks.STONE);
+                if (x != 2 || z != 2)
+                {
+                    helper.setBlock(x, 2, z, Blocks.STONE);
+                }
+            }
+        }
+
+        final BiPredicate<LevelAccessor, BlockPos> skyMatcher = LevelAccessor::canSeeSky;
+        final MultiBlock multiBlock = new MultiBlock()
+            .match(BlockPos.ZERO, BlockState::isAir)
+            .matchHorizontal(BlockPos.ZERO, STONE, 1)
+            .match(BlockPos.ZERO.below(), STONE)
+            .matchOneOf(BlockPos.ZERO.above(), new MultiBlock()
+                .match(BlockPos.ZERO, skyMatcher)
+                .matchHorizontal(BlockPos.ZERO, skyMatcher, 1));
+
+        final PredicateChain chain = new PredicateChain()
+            .match(BlockPos.ZERO, BlockState::isAir)
+            .matchHorizontal(BlockPos.ZERO, STONE, 1)
+            .match(BlockPos.ZERO.below(), STONE)
+            .matchOneOf(BlockPos.ZERO.above(), new PredicateChain()
+                .match(BlockPos.ZERO, skyMatcher)
+                .matchHorizontal(BlockPos.ZERO, skyMatcher, 1));
+
+        for (BlockPos pos : BlockPos.betweenClosed(helper.absolutePos(new BlockPos(0, 0, 0)), helper.absolutePos(new BlockPos(4, 4, 4))))
+        {
+            assertEquals(chain.test(helper.getLevel(), pos), multiBlock.test(helper.getLevel(), pos), "Position " + pos);
+        }
+    }
+
+    /**
+     * A multiblock as a plain list of predicates, each of which queries the level separately.
+     */
+    static class PredicateChain implements BiPredicate<LevelAccessor, BlockPos>
+    {
+        private final List<BiPredicate<LevelAccessor, BlockPos>> conditions = new ArrayList<>();
+
+        PredicateChain match(BlockPos posOffset, Predicate<BlockState> stateMatcher)
+        {
+            return match(posOffset, (level, pos) -> stateMatcher.test(level.getBlockState(pos)));
+        }
+
+        PredicateChain match(BlockPos posOffset, BiPredicate<LevelAccessor, BlockPos> condition)
+        {
+            conditions.add((level, pos) -> condition.test(level, pos.offset(posOffset)));
+            return this;
+        }
+
+        PredicateChain matchHorizontal(BlockPos posOffset, Predicate<BlockState> stateMatcher, int relativeAmount)
+        {
+            return matchHorizontal(posOffset, (level, pos) -> stateMatcher.test(level.getBlockState(pos)), relativeAmount);
+        }
+
+        PredicateChain matchHorizontal(BlockPos posOffset, BiPredicate<LevelAccessor, BlockPos> condition, int relativeAmount)
+        {
+            for (Direction d : Direction.Plane.HORIZONTAL)
+            {
+                conditions.add((level, pos) -> condition.test(level, pos.offset(posOffset).relative(d, relativeAmount)));
+            }
+            return this;
+        }
+
+        PredicateChain matchOneOf(BlockPos baseOffset, PredicateChain sub)
+        {
+            conditions.add((level, pos) -> {
+                final BlockPos subPos = pos.offset(baseOffset);
+                for (BiPredicate<LevelAccessor, BlockPos> condition : sub.conditions)
+                {
+                    if (condition.test(level, subPos))
+                    {
+                        return true;
+                    }
+                }
+                return false;
+            });
+            return this;
+        }
+
+        @Override
+        public boolean test(LevelAccessor level, BlockPos pos)
+        {
+            for (BiPredicate<LevelAccessor, BlockPos> condition : conditions)
+            {
+                if (!condition.test(level, pos))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
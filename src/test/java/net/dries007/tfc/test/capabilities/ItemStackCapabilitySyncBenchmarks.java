@@ -0,0 +1,79 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.capabilities;
+
+import java.util.Collection;
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.Unpooled;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.gametest.GameTestHolder;
+import org.slf4j.Logger;
+
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.capabilities.heat.IHeat;
+import net.dries007.tfc.common.items.TFCItems;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.Metal;
+
+/**
+ * Timings for {@link net.dries007.tfc.common.capabilities.ItemStackCapabilitySync}. These never fail, and only log their results, the correctness checks are in {@link ItemStackCapabilitySyncTests}.
+ */
+@GameTestHolder
+public class ItemStackCapabilitySyncBenchmarks
+{
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    /**
+     * Times syncing a chest full of hot ingots, as on every slot change, or container sync. Each heat capability is queried multiple times per stack, in the same tick.
+     */
+    @MyTest
+    public void benchmarkSyncChestOfHotIngots(GameTestHelper helper)
+    {
+        final ItemStack[] chest = new ItemStack[27];
+        for (int i = 0; i < chest.length; i++)
+        {
+            chest[i] = new ItemStack(TFCItems.METAL_ITEMS.get(Metal.Default.BRONZE).get(Metal.ItemType.INGOT).get());
+            final IHeat heat = Helpers.getCapability(chest[i], HeatCapability.CAPABILITY);
+            if (heat != null)
+            {
+                heat.setTemperature(1000f + i);
+            }
+        }
+
+        final int iterations = 2000;
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        long nanos = 0;
+        for (int run = 0; run < 2; run++) // The first run is a warmup
+        {
+            final long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++)
+            {
+                buffer.clear();
+                for (ItemStack stack : chest)
+                {
+                    buffer.writeItem(stack);
+                }
+            }
+            nanos = System.nanoTime() - start;
+        }
+
+        LOGGER.info("Chest of {} hot ingots: {} us / sync, {} bytes", chest.length, String.format("%.1f", nanos / 1000d / iterations), buffer.writerIndex());
+        helper.succeed();
+    }
+}
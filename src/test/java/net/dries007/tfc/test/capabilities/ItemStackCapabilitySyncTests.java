@@ -0,0 +1,213 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.capabilities;
+
+import java.util.Collection;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.items.ItemHandlerHelper;
+
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.common.capabilities.food.FoodCapability;
+import net.dries007.tfc.common.capabilities.food.FoodHandler;
+import net.dries007.tfc.common.capabilities.food.FoodTraits;
+import net.dries007.tfc.common.capabilities.food.IFood;
+import net.dries007.tfc.common.capabilities.food.INetworkFood;
+import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.capabilities.heat.IHeat;
+import net.dries007.tfc.common.capabilities.heat.INetworkHeat;
+import net.dries007.tfc.common.items.Food;
+import net.dries007.tfc.common.items.TFCItems;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.Metal;
+import net.dries007.tfc.util.calendar.CalendarTransaction;
+import net.dries007.tfc.util.calendar.Calendars;
+
+import static net.dries007.tfc.TestAssertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
+
+@GameTestHolder
+public class ItemStackCapabilitySyncTests
+{
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    @MyTest(unitTest = true)
+    public void testStackWithoutCapabilitiesWritesOneByte(GameTestHelper helper)
+    {
+        final ItemStack stack = new ItemStack(Items.STICK);
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        buffer.writeItem(stack);
+
+        assertEquals((byte) 0, buffer.getByte(buffer.writerIndex() - 1), "Expected a zero header as the last byte");
+        assertRoundTrip(stack);
+    }
+
+    @MyTest(unitTest = true)
+    public void testFood(GameTestHelper helper)
+    {
+        assertRoundTrip(new ItemStack(TFCItems.FOOD.get(Food.WHEAT_FLOUR).get()));
+    }
+
+    @MyTest(unitTest = true)
+    public void testFoodWithTraits(GameTestHelper helper)
+    {
+        final ItemStack stack = new ItemStack(TFCItems.FOOD.get(Food.BEEF).get());
+        FoodCapability.applyTrait(stack, FoodTraits.SALTED);
+        FoodCapability.applyTrait(stack, FoodTraits.BRINED);
+        FoodCapability.applyTrait(stack, FoodTraits.WOOD_GRILLED);
+        assertRoundTrip(stack);
+    }
+
+    @MyTest(unitTest = true)
+    public void testRottenFood(GameTestHelper helper)
+    {
+        final ItemStack stack = new ItemStack(TFCItems.FOOD.get(Food.BEEF).get());
+        final IFood food = Helpers.getCapability(stack, FoodCapability.CAPABILITY);
+
+        assertNotNull(food);
+        food.setCreationDate(FoodHandler.ROTTEN_DATE);
+        assertTrue(food.isRotten());
+        assertRoundTrip(stack);
+    }
+
+    @MyTest(unitTest = true)
+    public void testDynamicFood(GameTestHelper helper)
+    {
+        assertRoundTrip(new ItemStack(TFCItems.SANDWICHES.values().iterator().next().get()));
+    }
+
+    @MyTest(unitTest = true)
+    public void testHeatableFood(GameTestHelper helper)
+    {
+        final ItemStack stack = new ItemStack(TFCItems.FOOD.get(Food.BEEF).get());
+        final IHeat heat = Helpers.getCapability(stack, HeatCapability.CAPABILITY);
+
+        assertNotNull(heat);
+        heat.setTemperature(123.456f);
+        FoodCapability.applyTrait(stack, FoodTraits.CHARCOAL_GRILLED);
+        assertRoundTrip(stack);
+    }
+
+    @MyTest(unitTest = true)
+    public void testColdAndHotHeat(GameTestHelper helper)
+    {
+        final ItemStack stack = new ItemStack(TFCItems.METAL_ITEMS.get(Metal.Default.BRONZE).get(Metal.ItemType.INGOT).get());
+        final IHeat heat = Helpers.getCapability(stack, HeatCapability.CAPABILITY);
+
+        assertNotNull(heat);
+        assertRoundTrip(stack);
+
+        heat.setTemperature(1000f);
+        assertRoundTrip(stack);
+
+        heat.setTemperature(Float.MIN_VALUE);
+        assertRoundTrip(stack);
+    }
+
+    @MyTest(unitTest = true)
+    public void testDelegateHeat(GameTestHelper helper)
+    {
+        final ItemStack stack = new ItemStack(TFCItems.VESSEL.get());
+        final IHeat heat = Helpers.getCapability(stack, HeatCapability.CAPABILITY);
+
+        assertNotNull(heat);
+        assertRoundTrip(stack);
+
+        heat.setTemperature(500f);
+        assertRoundTrip(stack);
+    }
+
+    @MyTest(unitTest = true)
+    public void testCooledHeatIsCold(GameTestHelper helper)
+    {
+        final ItemStack hot = ingot(), cold = ingot();
+        final IHeat heat = Helpers.getCapability(hot, HeatCapability.CAPABILITY);
+        final IHeat coldHeat = Helpers.getCapability(cold, HeatCapability.CAPABILITY);
+
+        assertNotNull(heat);
+        assertNotNull(coldHeat);
+        heat.setTemperature(100f);
+        assertFalse(ItemHandlerHelper.canItemStacksStack(hot, cold));
+
+        try (CalendarTransaction tr = Calendars.SERVER.transaction())
+        {
+            tr.add(1_000_000);
+
+            assertEquals(0f, heat.getTemperature());
+            assertEquals(coldHeat.serializeNBT(), heat.serializeNBT());
+            assertTrue(ItemHandlerHelper.canItemStacksStack(hot, cold));
+            assertRoundTrip(hot);
+        }
+    }
+
+    @MyTest(unitTest = true)
+    public void testZeroHeatIsCold(GameTestHelper helper)
+    {
+        final ItemStack hot = ingot(), cold = ingot();
+        final IHeat heat = Helpers.getCapability(hot, HeatCapability.CAPABILITY);
+        final IHeat coldHeat = Helpers.getCapability(cold, HeatCapability.CAPABILITY);
+
+        assertNotNull(heat);
+        assertNotNull(coldHeat);
+        heat.setTemperature(100f);
+        heat.setTemperature(0f);
+
+        assertEquals(coldHeat.serializeNBT(), heat.serializeNBT());
+        assertTrue(ItemHandlerHelper.canItemStacksStack(hot, cold));
+    }
+
+    private static ItemStack ingot()
+    {
+        return new ItemStack(TFCItems.METAL_ITEMS.get(Metal.Default.BRONZE).get(Metal.ItemType.INGOT).get());
+    }
+
+    /**
+     * Encodes and decodes a stack, and checks that the synced capabilities are identical, that all data was consumed, and that the decoded stack encodes to the identical bytes.
+     */
+    private static void assertRoundTrip(ItemStack before)
+    {
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        buffer.writeItem(before);
+
+        final byte[] encoded = ByteBufUtil.getBytes(buffer);
+        final ItemStack after = buffer.readItem();
+
+        assertEquals(0, buffer.readableBytes(), "Buffer has " + buffer.readableBytes() + " remaining bytes after reading " + before);
+        assertEquals(before, after);
+
+        final INetworkFood foodBefore = Helpers.getCapability(before, FoodCapability.NETWORK_CAPABILITY), foodAfter = Helpers.getCapability(after, FoodCapability.NETWORK_CAPABILITY);
+        final INetworkHeat heatBefore = Helpers.getCapability(before, HeatCapability.NETWORK_CAPABILITY), heatAfter = Helpers.getCapability(after, HeatCapability.NETWORK_CAPABILITY);
+
+        assertEquals(foodBefore == null, foodAfter == null);
+        assertEquals(heatBefore == null, heatAfter == null);
+        if (foodBefore != null)
+        {
+            assertEquals(foodBefore.serializeNBT(), foodAfter.serializeNBT());
+        }
+        if (heatBefore != null)
+        {
+            assertEquals(heatBefore.serializeNBT(), heatAfter.serializeNBT());
+        }
+
+        final FriendlyByteBuf reencoded = new FriendlyByteBuf(Unpooled.buffer());
+        reencoded.writeItem(after);
+        assertArrayEquals(encoded, ByteBufUtil.getBytes(reencoded));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.recipes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraftforge.gametest.GameTestHolder;
+
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.common.recipes.AlloyRecipe;
+import net.dries007.tfc.common.recipes.TFCRecipeTypes;
+import net.dries007.tfc.common.recipes.inventory.AlloyInventory;
+import net.dries007.tfc.util.Alloy;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.Metal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GameTestHolder
+public class AlloyRecipeTests
+{
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    @MyTest(unitTest = true)
+    public void testIndexMatchesRecipeManager(GameTestHelper helper)
+    {
+        final RecipeManager manager = helper.getLevel().getRecipeManager();
+        final List<AlloyRecipe> recipes = new ArrayList<>(Helpers.getRecipes(manager, TFCRecipeTypes.ALLOY).values());
+        final List<Metal> metals = new ArrayList<>(Metal.MANAGER.getValues());
+        final Random random = new Random(TestHelper.seed());
+
+        assertFalse(recipes.isEmpty(), "No alloy recipes");
+
+        int matched = 0;
+        for (int i = 0; i < 20_000; i++)
+        {
+            final Alloy alloy = new Alloy();
+            final AlloyRecipe recipe = recipes.get(random.nextInt(recipes.size()));
+            final int units = 100 + random.nextInt(5000);
+
+            // Mostly close to a recipe, with ratios either side of its ranges
+            if (random.nextInt(4) != 0)
+            {
+                for (Map.Entry<Metal, AlloyRecipe.Range> entry : recipe.getRanges().entrySet())
+                {
+                    final AlloyRecipe.Range range = entry.getValue();
+                    final double ratio = range.min() - 0.02 + random.nextDouble() * (range.max() - range.min() + 0.04);
+                    alloy.add(entry.getKey(), Math.max(1, (int) (ratio * units)), false);
+                }
+            }
+
+            // Sometimes include the result, or any other metal
+            if (random.nextInt(4) == 0)
+            {
+                alloy.add(recipe.getResult(), 1 + random.nextInt(units), false);
+            }
+            for (int j = random.nextInt(3); j > 0; j--)
+            {
+                alloy.add(metals.get(random.nextInt(metals.size())), 1 + random.nextInt(units), false);
+            }
+
+            // Sometimes remove some, which leaves fractional amounts
+            if (random.nextInt(4) == 0)
+            {
+                alloy.removeAlloy(random.nextInt(1 + alloy.getAmount()), false);
+            }
+
+            final AlloyRecipe expected = AlloyRecipe.get(manager, new AlloyInventory(alloy)).orElse(null);
+            final AlloyRecipe actual = AlloyRecipe.get(alloy).orElse(null);
+
+            assertSame(expected, actual, "Alloy " + alloy.serializeNBT() + " expected " + (expected == null ? null : expected.getId()) + " but got " + (actual == null ? null : actual.getId()));
+            if (expected != null)
+            {
+                matched++;
+            }
+        }
+
+        assertTrue(matched > 100, "Only " + matched + " alloys matched any recipe");
+    }
+}
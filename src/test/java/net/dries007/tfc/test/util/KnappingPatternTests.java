@@ -6,9 +6,11 @@
 
 package net.dries007.tfc.test.util;
 
+import java.util.Random;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import net.dries007.tfc.TestHelper;
 import net.dries007.tfc.util.KnappingPattern;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
@@ -77,4 +79,84 @@ public class KnappingPatternTests
                                 assertTrue(p.get(x0, y0));
                 }))).flatMap(t -> t);
     }
+
+    @Test
+    public void testMatchesAgreesWithCellByCellMatching()
+    {
+        final Random random = new Random(TestHelper.seed());
+        for (int i = 0; i < 5000; i++)
+        {
+            final int width = 1 + random.nextInt(5), height = 1 + random.nextInt(5);
+            final KnappingPattern recipe = new KnappingPattern(width, height, random.nextBoolean());
+            for (int j = 0; j < width * height; j++)
+            {
+                recipe.set(j, random.nextBoolean());
+            }
+
+            // Build a grid which matches the recipe at a random position, then maybe break it
+            final KnappingPattern grid = new KnappingPattern();
+            final int dx = random.nextInt(6 - width), dy = random.nextInt(6 - height);
+            final boolean mirror = random.nextBoolean();
+            for (int x = 0; x < 5; x++)
+            {
+                for (int y = 0; y < 5; y++)
+                {
+                    final boolean inside = x >= dx && y >= dy && x - dx < width && y - dy < height;
+                    grid.set(x, y, inside ? recipe.get(mirror ? width - 1 - (x - dx) : x - dx, y - dy) : recipe.isOutsideSlotRequired());
+                }
+            }
+            if (random.nextBoolean())
+            {
+                final int index = random.nextInt(25);
+                grid.set(index, !grid.get(index));
+            }
+
+            final boolean expected = matchesCellByCell(grid, recipe);
+            assertEquals(expected, grid.matches(recipe));
+            if (expected)
+            {
+                assertEquals(recipe.countWhenMatchedBy(5, 5), grid.count());
+            }
+        }
+    }
+
+    /**
+     * The original implementation of {@link KnappingPattern#matches(KnappingPattern)}
+     */
+    private static boolean matchesCellByCell(KnappingPattern grid, KnappingPattern other)
+    {
+        for (int dx = 0; dx <= grid.getWidth() - other.getWidth(); dx++)
+        {
+            for (int dy = 0; dy <= grid.getHeight() - other.getHeight(); dy++)
+            {
+                if (matchesCellByCell(grid, other, dx, dy, false) || matchesCellByCell(grid, other, dx, dy, true))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesCellByCell(KnappingPattern grid, KnappingPattern other, int startX, int startY, boolean mirror)
+    {
+        for (int x = 0; x < grid.getWidth(); x++)
+        {
+            for (int y = 0; y < grid.getHeight(); y++)
+            {
+                if (x < startX || y < startY || x - startX >= other.getWidth() || y - startY >= other.getHeight())
+                {
+                    if (grid.get(x, y) != other.isOutsideSlotRequired())
+                    {
+                        return false;
+                    }
+                }
+                else if (grid.get(x, y) != other.get(mirror ? other.getWidth() - 1 - (x - startX) : x - startX, y - startY))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.world;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import net.dries007.tfc.world.LockFreeCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LockFreeCacheTests
+{
+    @Test
+    public void testGetAndSet()
+    {
+        final LockFreeCache<String> cache = new LockFreeCache<>(16);
+
+        assertNull(cache.getIfPresent(1, 2));
+        cache.set(1, 2, "a");
+        assertEquals("a", cache.getIfPresent(1, 2));
+        assertNull(cache.getIfPresent(2, 1));
+        cache.set(1, 2, "b");
+        assertEquals("b", cache.getIfPresent(1, 2));
+    }
+
+    @Test
+    public void testAssociativeKeepsTwoCollidingKeys()
+    {
+        // With only two slots, every key maps to the same set, so the two most recent keys should be present
+        final LockFreeCache<String> cache = new LockFreeCache<>(2, true);
+
+        cache.set(0, 0, "a");
+        cache.set(5, 7, "b");
+        assertEquals("a", cache.getIfPresent(0, 0));
+        assertEquals("b", cache.getIfPresent(5, 7));
+
+        cache.set(5, 7, "c");
+        assertEquals("a", cache.getIfPresent(0, 0));
+        assertEquals("c", cache.getIfPresent(5, 7));
+
+        cache.set(-3, 9, "d");
+        assertNull(cache.getIfPresent(0, 0));
+        assertEquals("c", cache.getIfPresent(5, 7));
+        assertEquals("d", cache.getIfPresent(-3, 9));
+    }
+
+    @Test
+    public void testConcurrentReadsNeverSeeMismatchedValues()
+    {
+        final LockFreeCache<Integer> cache = new LockFreeCache<>(64, true);
+        final AtomicBoolean mismatch = new AtomicBoolean();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> {
+            final int x = i % 317, z = i % 211;
+            final Integer value = cache.getIfPresent(x, z);
+            if (value != null && value != x * 1000 + z)
+            {
+                mismatch.set(true);
+            }
+            cache.set(x, z, x * 1000 + z);
+        });
+
+        assertFalse(mismatch.get());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.world;
+
+import net.minecraft.util.Mth;
+
+import net.dries007.tfc.world.noise.Cellular2D;
+import net.dries007.tfc.world.noise.Noise2D;
+import net.dries007.tfc.world.noise.OpenSimplex2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Noise2DTests
+{
+    @Test
+    public void testFlattenedCombinatorsMatchNestedLambdas()
+    {
+        final Noise2D base = new OpenSimplex2D(1234L).octaves(4).spread(0.05f);
+        final Noise2D other = new OpenSimplex2D(5678L).spread(0.1f);
+
+        final Noise2D flattened = base.scaled(-2, 3).map(x -> x * x).add(other.abs()).clamped(-1, 4).affine(0.4f, -0.6f).terraces(7).ridged();
+        final Noise2D nested = (x, z) -> {
+            float value = base.noise(x, z) * 2.5f + 0.5f;
+            value = value * value;
+            value = value + Math.abs(other.noise(x, z));
+            value = Mth.clamp(value, -1, 4);
+            value = value * 0.4f + -0.6f;
+            value = (((int) ((0.5f * value + 0.5f) * 7)) * 2f) / 7 - 1f;
+            return 1f - 2f * Math.abs(value);
+        };
+
+        final int minX = -50, minZ = 20, size = 16;
+        final float[] grid = new float[size * size];
+        flattened.noiseGrid(minX, minZ, size, size, grid);
+
+        for (int x = 0; x < size; x++)
+        {
+            for (int z = 0; z < size; z++)
+            {
+                final float expected = nested.noise(minX + x, minZ + z);
+                assertEquals(expected, flattened.noise(minX + x, minZ + z));
+                assertEquals(expected, grid[x + size * z]);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchedMatchesPointwise()
+    {
+        final Noise2D warp = new OpenSimplex2D(42L).octaves(2).spread(0.015f).scaled(-30, 30);
+        final Noise2D noise = new Cellular2D(7L).spread(0.02f).then(c -> c.f1())
+            .lazyProduct(new OpenSimplex2D(99L).spread(0.1f))
+            .add(new OpenSimplex2D(3L).octaves(3).spread(0.2f).scaled(-5, 5))
+            .map(x -> x > 0 ? x : 0)
+            .octaves(2)
+            .warped(new OpenSimplex2D(11L).spread(0.03f).scaled(-10, 10))
+            .add(warp);
+
+        final int minX = -37, minZ = 115, size = 16;
+        final float[] grid = new float[size * size];
+        noise.noiseGrid(minX, minZ, size, size, grid);
+
+        for (int x = 0; x < size; x++)
+        {
+            for (int z = 0; z < size; z++)
+            {
+                assertEquals(noise.noise(minX + x, minZ + z), grid[x + size * z]);
+            }
+        }
+    }
+}
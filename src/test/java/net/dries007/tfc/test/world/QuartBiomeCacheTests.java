@@ -0,0 +1,63 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.world;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.dries007.tfc.world.QuartBiomeCache;
+import net.dries007.tfc.world.Sampler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuartBiomeCacheTests
+{
+    @Test
+    public void testCachedValuesMatchSampler()
+    {
+        final Sampler<String> sampler = (x, z) -> x + "," + z;
+        final QuartBiomeCache<String> cache = new QuartBiomeCache<>(sampler, 64);
+
+        for (int x = -40; x < 40; x += 3)
+        {
+            for (int z = -40; z < 40; z += 5)
+            {
+                assertEquals(sampler.get(x, z), cache.get(x, z));
+                assertEquals(sampler.get(x, z), cache.get(x, z));
+            }
+        }
+    }
+
+    @Test
+    public void testAdjacentChunksShareSamples()
+    {
+        // Each chunk samples a 15x15 quart area around itself, which is the area read by the 9x9 kernel at quart resolution
+        final AtomicInteger calls = new AtomicInteger();
+        final QuartBiomeCache<Integer> cache = new QuartBiomeCache<>((x, z) -> {
+            calls.incrementAndGet();
+            return x * 31 + z;
+        }, 256);
+
+        final int chunks = 8;
+        for (int chunkX = 0; chunkX < chunks; chunkX++)
+        {
+            for (int quartX = -5; quartX <= 9; quartX++)
+            {
+                for (int quartZ = -5; quartZ <= 9; quartZ++)
+                {
+                    cache.get((chunkX << 2) + quartX, quartZ);
+                }
+            }
+        }
+
+        final int uncachedCalls = chunks * 15 * 15;
+        final int uniqueQuarts = (15 + 4 * (chunks - 1)) * 15; // Each new chunk only samples one chunk width of new quarts
+        assertEquals(calls.get(), cache.sampled());
+        assertTrue(calls.get() >= uniqueQuarts);
+        assertTrue(calls.get() < uncachedCalls / 2, "Expected fewer than " + (uncachedCalls / 2) + " samples, got " + calls.get());
+    }
+}
@@ -74,17 +74,17 @@ public class RegionVisualizations extends TestHelper
             if (point == null) return new Color(160, 160, 160);
             if (task == RegionGenerator.Task.ANNOTATE_DISTANCE_TO_CELL_EDGE)
             {
-                return blue.apply(point.distanceToEdge / 24f);
+                return blue.apply(point.distanceToEdge() / 24f);
             }
             if (task == RegionGenerator.Task.CHOOSE_BIOMES)
             {
-                return biomeColorS(point.biome);
+                return biomeColorS(point.biome());
             }
             if (!point.land())
             {
                 return switch(task) {
-                    case ANNOTATE_BASE_LAND_HEIGHT -> point.baseOceanDepth < 4 ? new Color(150, 160, 255) :
-                        point.baseOceanDepth < 8 ?
+                    case ANNOTATE_BASE_LAND_HEIGHT -> point.baseOceanDepth() < 4 ? new Color(150, 160, 255) :
+                        point.baseOceanDepth() < 8 ?
                             new Color(120, 120, 240) :
                             new Color(100, 100, 200);
                     default -> point.shore() ?
@@ -99,16 +99,16 @@ public class RegionVisualizations extends TestHelper
                 {
                     default -> new Color(0, 130, 0);
                     case ADD_MOUNTAINS -> point.mountain() ?
-                        (point.baseLandHeight <= 2 ?
+                        (point.baseLandHeight() <= 2 ?
                             new Color(240, 110, 50) :
                             new Color(150, 150, 150)) :
-                        green.apply(point.baseLandHeight / 24f);
-                    case ANNOTATE_DISTANCE_TO_OCEAN -> green.apply(point.distanceToOcean / 20f);
-                    case ADD_RIVERS_AND_LAKES -> point.lake() ? new Color(150, 160, 255) : green.apply(point.baseLandHeight / 24f);
-                    case ANNOTATE_BASE_LAND_HEIGHT -> green.apply(point.baseLandHeight / 24f);
+                        green.apply(point.baseLandHeight() / 24f);
+                    case ANNOTATE_DISTANCE_TO_OCEAN -> green.apply(point.distanceToOcean() / 20f);
+                    case ADD_RIVERS_AND_LAKES -> point.lake() ? new Color(150, 160, 255) : green.apply(point.baseLandHeight() / 24f);
+                    case ANNOTATE_BASE_LAND_HEIGHT -> green.apply(point.baseLandHeight() / 24f);
                     case ANNOTATE_BIOME_ALTITUDE -> green.apply(Mth.clampedMap(point.discreteBiomeAltitude(), 0, 3, 0, 1));
-                    case ANNOTATE_CLIMATE -> temperature.apply(Mth.clampedMap(point.temperature, -35f, 35f, 0f, 0.999f));
-                    case ANNOTATE_RAINFALL -> temperature.apply(Mth.clampedMap(point.rainfall, 0f, 500f, 0f, 0.999f));
+                    case ANNOTATE_CLIMATE -> temperature.apply(Mth.clampedMap(point.temperature(), -35f, 35f, 0f, 0.999f));
+                    case ANNOTATE_RAINFALL -> temperature.apply(Mth.clampedMap(point.rainfall(), 0f, 500f, 0f, 0.999f));
                 };
         });
     }